@@ -2,7 +2,7 @@ package com.quizapp.answer;
 
 import com.quizapp.quiz.Quiz;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Answer Collector - Member 3
@@ -13,19 +13,40 @@ import java.util.concurrent.ConcurrentHashMap;
  * - Concurrent access management
  * - Timestamp tracking
  * 
+ * Answers are kept in a question-major ColumnarAnswerStore (packed option
+ * bytes, response-time ints and late bits per participant); the AnswerData
+ * API below is a view built on top of it.
+ * 
+ * After startIngestion(), I/O threads only publish answers into an
+ * AnswerIngestionRing and a single consumer thread applies them; call
+ * flush() before reading the answers of a closed question.
+ * 
+ * Whether a participant may change an answer is decided by the collector's
+ * AnswerPolicy; rejected submissions are not stored, journaled or logged.
+ * 
+ * With an AnswerJournal attached, every stored answer is also appended to
+ * the journal so it can be restored after a crash.
+ * 
  * @author Member 3
  */
 public class AnswerCollector {
-    // Map: ClientID -> Map of (QuestionID -> AnswerData)
-    private Map<String, Map<String, AnswerData>> clientAnswers;
-    private Map<String, Long> answerTimestamps;
-    private long questionStartTime;
+    private static final int RING_CAPACITY = 16384;
+    
+    private volatile ColumnarAnswerStore store;
+    private AnswerIngestionRing ingestionRing;
+    private volatile AnswerJournal journal;
+    private volatile AnswerPolicy answerPolicy;
+    private final AtomicLong rejectedAnswers;
+    private volatile QuestionEpoch currentEpoch;
     private int questionTimeLimit; // in seconds
     
     public AnswerCollector() {
-        this.clientAnswers = new ConcurrentHashMap<>();
-        this.answerTimestamps = new ConcurrentHashMap<>();
+        this.store = new ColumnarAnswerStore();
+        this.ingestionRing = new AnswerIngestionRing(RING_CAPACITY);
         this.questionTimeLimit = 30; // default 30 seconds
+        this.answerPolicy = AnswerPolicy.LAST_WINS_BEFORE_DEADLINE;
+        this.rejectedAnswers = new AtomicLong();
+        this.currentEpoch = QuestionEpoch.start(questionTimeLimit);
     }
     
     public AnswerCollector(int timeLimit) {
@@ -41,96 +62,265 @@ public class AnswerCollector {
         private String answer;
         private long submissionTime;
         private boolean isLate;
+        private int responseTimeMicros;
         
         public AnswerData(String questionId, String answer, long submissionTime, boolean isLate) {
+            this(questionId, answer, submissionTime, isLate, 0);
+        }
+        
+        public AnswerData(String questionId, String answer, long submissionTime, boolean isLate,
+                          int responseTimeMicros) {
             this.questionId = questionId;
             this.answer = answer;
             this.submissionTime = submissionTime;
             this.isLate = isLate;
+            this.responseTimeMicros = responseTimeMicros;
         }
         
         public String getQuestionId() { return questionId; }
         public String getAnswer() { return answer; }
         public long getSubmissionTime() { return submissionTime; }
         public boolean isLate() { return isLate; }
+        public int getResponseTimeMicros() { return responseTimeMicros; }
+        public double getResponseTimeMillis() { return responseTimeMicros / 1000.0; }
     }
     
     /**
-     * Start timing for a new question
+     * Restart the default epoch, used to time answers restored from the
+     * journal for questions that were not opened in this run.
+     * Live answers are only accepted for questions opened with
+     * startQuestionTimer(questionId).
      */
     public void startQuestionTimer() {
-        questionStartTime = System.currentTimeMillis();
+        currentEpoch = QuestionEpoch.start(questionTimeLimit);
+    }
+    
+    /**
+     * Open a question with its own epoch on the monotonic clock.
+     * Questions opened this way are timed independently, so questions of
+     * different sessions may overlap. Reopening a question keeps the answers
+     * already stored for it.
+     */
+    public void startQuestionTimer(String questionId) {
+        QuestionEpoch epoch = QuestionEpoch.start(questionTimeLimit);
+        store.openColumn(questionId, epoch);
+        currentEpoch = epoch;
+    }
+    
+    /**
+     * Stop accepting answers for every open question (before processing them)
+     */
+    public void closeQuestions() {
+        store.closeColumns();
+    }
+    
+    /**
+     * Open a question and score each of its answers as soon as it is stored,
+     * so closing the question only has to read precomputed results
+     */
+    public void startQuestionTimer(String questionId, QuestionScoring scoring) {
+        startQuestionTimer(questionId);
+        store.getColumn(questionId).setScoring(scoring);
     }
     
     /**
      * Record an answer from a client
      * Format: ANSWER|QuestionID|Answer
+     * 
+     * Returns false if the question is unknown or closed, or the answer
+     * policy rejected it (duplicate, too many changes or a change after the
+     * deadline).
      */
     public boolean recordAnswer(String clientId, String questionId, String answer) {
         if (clientId == null || questionId == null || answer == null) {
             return false;
         }
         
-        // Calculate if answer is late
-        long currentTime = System.currentTimeMillis();
-        long elapsedSeconds = (currentTime - questionStartTime) / 1000;
-        boolean isLate = elapsedSeconds > questionTimeLimit;
+        long now = System.nanoTime();
         
-        // Get or create client's answer map
-        Map<String, AnswerData> answers = clientAnswers.computeIfAbsent(
-            clientId, k -> new ConcurrentHashMap<>()
-        );
+        // Only opened questions have columns: an unknown or closed ID is
+        // rejected before anything is allocated for it
+        ColumnarAnswerStore.Column column = store.getColumn(questionId);
+        if (column == null || !column.isOpen()) {
+            rejectedAnswers.incrementAndGet();
+            return false;
+        }
+        
+        // Calculate response time and lateness against the question's epoch
+        int responseMicros = column.getEpoch().elapsedMicros(now);
+        boolean isLate = column.getEpoch().isLate(responseMicros);
+        
+        // Store the answer in the question's column
+        int participant = store.participantIndex(clientId);
+        byte option = ColumnarAnswerStore.encode(answer);
         
-        // Store the answer
-        AnswerData answerData = new AnswerData(questionId, answer.toUpperCase(), currentTime, isLate);
-        answers.put(questionId, answerData);
+        if (!column.tryAccept(participant, option, isLate, answerPolicy)) {
+            rejectedAnswers.incrementAndGet();
+            return false;
+        }
         
-        // Record timestamp
-        answerTimestamps.put(clientId + "_" + questionId, currentTime);
+        AnswerJournal journal = this.journal;
+        if (journal != null) {
+            journal.logAnswer(clientId, questionId, option, responseMicros, isLate);
+        }
         
-        System.out.println(String.format("📝 Answer recorded: Client=%s, Q=%s, Answer=%s, Late=%s",
-            clientId, questionId, answer, isLate ? "YES" : "NO"));
+        // Pipeline mode: hand the event to the consumer thread and return.
+        // publish waits while the ring is full (the consumer may still hold
+        // older events for this slot, so never write around it) and fails
+        // only once ingestion has been stopped.
+        if (ingestionRing.isRunning()
+                && ingestionRing.publish(column, participant, option, responseMicros, isLate)) {
+            return true;
+        }
         
+        column.set(participant, option, responseMicros, isLate);
         return true;
     }
     
+    /**
+     * Whether this exact answer is already accepted for the client, so a
+     * rejected resubmit (network retry, repeated click) can be acknowledged
+     * as recorded instead of reported as lost
+     */
+    public boolean isRecorded(String clientId, String questionId, String answer) {
+        int participant = store.findParticipant(clientId);
+        ColumnarAnswerStore.Column column = store.getColumn(questionId);
+        return participant >= 0 && column != null && answer != null
+            && column.getAcceptedOption(participant) == ColumnarAnswerStore.encode(answer);
+    }
+    
+    /**
+     * Put back an answer replayed from the journal (not journaled again)
+     */
+    public void restoreAnswer(String clientId, String questionId, byte option,
+                              int responseMicros, boolean isLate) {
+        ColumnarAnswerStore.Column column = store.column(questionId, currentEpoch);
+        int participant = store.participantIndex(clientId);
+        column.tryAccept(participant, option, isLate, AnswerPolicy.LAST_WINS_BEFORE_DEADLINE);
+        column.set(participant, option, responseMicros, isLate);
+    }
+    
+    /**
+     * Journal every answer recorded from now on (null to stop journaling)
+     */
+    public void setJournal(AnswerJournal journal) {
+        this.journal = journal;
+    }
+    
+    /**
+     * Start the single-writer ingestion pipeline for this collector
+     */
+    public void startIngestion() {
+        ingestionRing.start("answer-ingest");
+        System.out.println("✓ Answer ingestion pipeline started (ring size " +
+            ingestionRing.getCapacity() + ")");
+    }
+    
+    /**
+     * Apply pending answers and stop the ingestion pipeline
+     */
+    public void stopIngestion() {
+        ingestionRing.stop();
+    }
+    
+    /**
+     * Wait until every answer submitted so far has been applied to the store
+     */
+    public void flush() {
+        if (ingestionRing.isRunning() && !ingestionRing.awaitApplied(1000)) {
+            System.err.println("⚠ Answer ingestion did not catch up within 1s");
+        }
+    }
+    
+    /**
+     * Get ingestion pipeline metrics
+     */
+    public String getIngestionStats() {
+        return String.format("Ingestion: %d answers applied, %.0f answers/sec, " +
+                "latency avg %.1f µs / max %.1f µs, %d waited for room (ring full)",
+            ingestionRing.getAppliedCount(), ingestionRing.getAnswersPerSecond(),
+            ingestionRing.getAverageLatencyMicros(), ingestionRing.getMaxLatencyMicros(),
+            ingestionRing.getFullWaitCount());
+    }
+    
     /**
      * Get answer for specific client and question
      */
     public AnswerData getAnswer(String clientId, String questionId) {
-        Map<String, AnswerData> answers = clientAnswers.get(clientId);
-        if (answers != null) {
-            return answers.get(questionId);
+        int participant = store.findParticipant(clientId);
+        ColumnarAnswerStore.Column column = store.getColumn(questionId);
+        if (participant < 0 || column == null) {
+            return null;
         }
-        return null;
+        return toAnswerData(column, participant);
+    }
+    
+    /**
+     * Build the AnswerData view of one slot (null if empty)
+     */
+    private AnswerData toAnswerData(ColumnarAnswerStore.Column column, int participant) {
+        byte option = column.getOption(participant);
+        if (option == ColumnarAnswerStore.NO_ANSWER) {
+            return null;
+        }
+        int responseMicros = column.getResponseMicros(participant);
+        return new AnswerData(column.getQuestionId(), ColumnarAnswerStore.decode(option),
+            column.getEpoch().toWallMillis(responseMicros), column.isLate(participant), responseMicros);
     }
     
     /**
      * Check if client has answered a question
      */
     public boolean hasAnswered(String clientId, String questionId) {
-        Map<String, AnswerData> answers = clientAnswers.get(clientId);
-        return answers != null && answers.containsKey(questionId);
+        int participant = store.findParticipant(clientId);
+        ColumnarAnswerStore.Column column = store.getColumn(questionId);
+        return participant >= 0 && column != null
+            && column.getOption(participant) != ColumnarAnswerStore.NO_ANSWER;
     }
     
     /**
      * Get all answers for a client
      */
     public Map<String, AnswerData> getClientAnswers(String clientId) {
-        return clientAnswers.getOrDefault(clientId, new HashMap<>());
+        Map<String, AnswerData> answers = new HashMap<>();
+        int participant = store.findParticipant(clientId);
+        if (participant < 0) {
+            return answers;
+        }
+        for (ColumnarAnswerStore.Column column : store.getColumns()) {
+            AnswerData data = toAnswerData(column, participant);
+            if (data != null) {
+                answers.put(column.getQuestionId(), data);
+            }
+        }
+        return answers;
     }
     
     /**
-     * Get number of answers for a question
+     * Get number of answers for a question (O(1), from the live tally)
      */
     public int getAnswerCount(String questionId) {
-        int count = 0;
-        for (Map<String, AnswerData> answers : clientAnswers.values()) {
-            if (answers.containsKey(questionId)) {
-                count++;
-            }
+        ColumnarAnswerStore.Column column = store.getColumn(questionId);
+        return column != null ? column.getRespondentCount() : 0;
+    }
+    
+    /**
+     * Get number of correct answers for a question (O(1), from the live tally)
+     */
+    public int getCorrectAnswerCount(Quiz question) {
+        ColumnarAnswerStore.Column column = store.getColumn(question.getQuestionId());
+        if (column == null) {
+            return 0;
         }
-        return count;
+        return column.getOptionCount(ColumnarAnswerStore.encode(question.getCorrectAnswer()));
+    }
+    
+    /**
+     * Get a consistent snapshot of a question's live counters
+     */
+    public QuestionTally getQuestionTally(String questionId) {
+        ColumnarAnswerStore.Column column = store.getColumn(questionId);
+        return column != null ? column.snapshot() : QuestionTally.empty(questionId);
     }
     
     /**
@@ -138,20 +328,36 @@ public class AnswerCollector {
      */
     public List<String> getRespondents(String questionId) {
         List<String> respondents = new ArrayList<>();
-        for (Map.Entry<String, Map<String, AnswerData>> entry : clientAnswers.entrySet()) {
-            if (entry.getValue().containsKey(questionId)) {
-                respondents.add(entry.getKey());
+        ColumnarAnswerStore.Column column = store.getColumn(questionId);
+        if (column == null) {
+            return respondents;
+        }
+        int expected = column.getRespondentCount();
+        int participants = store.getParticipantCount();
+        for (int i = 0; i < participants && respondents.size() < expected; i++) {
+            if (column.getOption(i) != ColumnarAnswerStore.NO_ANSWER) {
+                respondents.add(store.participantId(i));
             }
         }
         return respondents;
     }
     
+    /**
+     * Hand the stored answers over to the caller and continue with an empty
+     * store (answers still in the ingestion pipeline are applied first)
+     */
+    public ColumnarAnswerStore detachStore() {
+        flush();
+        ColumnarAnswerStore detached = store;
+        store = new ColumnarAnswerStore();
+        return detached;
+    }
+    
     /**
      * Clear all answers (for new quiz)
      */
     public void clearAllAnswers() {
-        clientAnswers.clear();
-        answerTimestamps.clear();
+        store.clear();
         System.out.println("✓ All answers cleared");
     }
     
@@ -159,7 +365,12 @@ public class AnswerCollector {
      * Clear answers for specific client
      */
     public void clearClientAnswers(String clientId) {
-        clientAnswers.remove(clientId);
+        int participant = store.findParticipant(clientId);
+        if (participant >= 0) {
+            for (ColumnarAnswerStore.Column column : store.getColumns()) {
+                column.clear(participant);
+            }
+        }
         System.out.println("✓ Cleared answers for client: " + clientId);
     }
     
@@ -167,33 +378,44 @@ public class AnswerCollector {
      * Get statistics for a question
      */
     public String getQuestionStats(String questionId) {
-        Map<String, Integer> answerDistribution = new HashMap<>();
-        int totalAnswers = 0;
-        int lateAnswers = 0;
-        
-        for (Map<String, AnswerData> answers : clientAnswers.values()) {
-            AnswerData data = answers.get(questionId);
-            if (data != null) {
-                totalAnswers++;
-                if (data.isLate()) lateAnswers++;
-                
-                String ans = data.getAnswer();
-                answerDistribution.put(ans, answerDistribution.getOrDefault(ans, 0) + 1);
-            }
-        }
+        QuestionTally tally = getQuestionTally(questionId);
         
         StringBuilder stats = new StringBuilder();
         stats.append(String.format("\n📊 Stats for %s:%n", questionId));
-        stats.append(String.format("   Total Answers: %d%n", totalAnswers));
-        stats.append(String.format("   Late Answers: %d%n", lateAnswers));
+        stats.append(String.format("   Total Answers: %d%n", tally.getRespondents()));
+        stats.append(String.format("   Late Answers: %d%n", tally.getLateCount()));
+        stats.append(String.format("   Avg Response: %.3f s%n", tally.getAverageResponseMicros() / 1_000_000.0));
         stats.append("   Distribution: ");
-        answerDistribution.forEach((ans, count) -> 
-            stats.append(String.format("%s=%d ", ans, count))
-        );
+        for (String letter : new String[] { "A", "B", "C", "D" }) {
+            if (tally.getCount(letter) > 0) {
+                stats.append(String.format("%s=%d ", letter, tally.getCount(letter)));
+            }
+        }
+        if (tally.getOtherCount() > 0) {
+            stats.append(String.format("?=%d ", tally.getOtherCount()));
+        }
         
         return stats.toString();
     }
     
+    /**
+     * Set the answer-change policy (applies to submissions from now on)
+     */
+    public void setAnswerPolicy(AnswerPolicy policy) {
+        this.answerPolicy = policy;
+    }
+    
+    public AnswerPolicy getAnswerPolicy() {
+        return answerPolicy;
+    }
+    
+    /**
+     * Number of submissions rejected by the answer policy
+     */
+    public long getRejectedAnswerCount() {
+        return rejectedAnswers.get();
+    }
+    
     /**
      * Get time limit for questions
      */
@@ -212,19 +434,35 @@ public class AnswerCollector {
      * Get total number of clients who submitted answers
      */
     public int getTotalRespondents() {
-        return clientAnswers.size();
+        return store.getParticipantCount();
+    }
+    
+    /**
+     * Get the underlying columnar store
+     */
+    public ColumnarAnswerStore getStore() {
+        return store;
     }
     
     /**
      * Export answers summary
      */
     public String getAnswersSummary() {
+        long storeBytes = store.estimateBytes();
+        long slots = (long) store.getParticipantCount() * store.getColumns().size();
+        
         StringBuilder summary = new StringBuilder();
         summary.append("\n╔════════════════════════════════════════╗\n");
         summary.append("║      Answer Collection Summary         ║\n");
         summary.append("╠════════════════════════════════════════╣\n");
-        summary.append(String.format("║ Total Respondents: %-19d║%n", clientAnswers.size()));
+        summary.append(String.format("║ Total Respondents: %-19d║%n", store.getParticipantCount()));
+        summary.append(String.format("║ Questions Answered: %-19d║%n", store.getColumns().size()));
         summary.append(String.format("║ Time Limit: %-27d║%n", questionTimeLimit));
+        summary.append(String.format("║ Policy: %-31s║%n", answerPolicy));
+        summary.append(String.format("║ Rejected Submissions: %-17d║%n", rejectedAnswers.get()));
+        summary.append(String.format("║ Store Size (KB): %-22.1f║%n", storeBytes / 1024.0));
+        summary.append(String.format("║ Bytes per Answer Slot: %-16.1f║%n",
+            slots > 0 ? storeBytes / (double) slots : 0.0));
         summary.append("╚════════════════════════════════════════╝\n");
         return summary.toString();
     }
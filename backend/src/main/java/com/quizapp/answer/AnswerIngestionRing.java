@@ -0,0 +1,294 @@
+package com.quizapp.answer;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Answer Ingestion Ring - Member 3
+ * Preallocated multi-producer, single-consumer ring buffer of answer events.
+ * 
+ * I/O threads claim a slot with one CAS, fill in fixed-size fields and
+ * publish it; they never take a lock or wait for the answer store. A single
+ * consumer thread applies events in sequence order to the answer columns
+ * (which also updates the live tallies), so the store has one writer.
+ * When the ring is full, producers wait for the consumer to free a slot
+ * (backpressure) rather than writing to the store themselves.
+ * An idle consumer parks until a producer publishes, and stop() waits for
+ * producers already inside publish(), so every accepted answer is applied.
+ * 
+ * @author Member 3
+ */
+public class AnswerIngestionRing {
+    private static final VarHandle LONGS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final int SPINS_BEFORE_PARK = 100;
+    
+    private final int mask;
+    private final long[] published;   // sequence number stored in each slot once published
+    private final ColumnarAnswerStore.Column[] columns;
+    private final int[] participants;
+    private final byte[] options;
+    private final int[] responseMicros;
+    private final boolean[] late;
+    private final long[] enqueueNanos;
+    
+    private final AtomicLong claimed;           // next sequence to hand out
+    private volatile long applied;              // next sequence the consumer will apply
+    private final AtomicInteger publishers;     // producers currently inside publish()
+    private volatile boolean running;           // publishes are accepted
+    private volatile boolean closed;            // no more claims: consumer drains and exits
+    private volatile boolean parked;            // consumer is (about to be) parked
+    private volatile Thread consumer;
+    
+    // Metrics (written only by the consumer)
+    private volatile long appliedCount;
+    private volatile long totalLatencyNanos;
+    private volatile long maxLatencyNanos;
+    private volatile long firstApplyNanos;
+    private volatile long lastApplyNanos;
+    private final AtomicLong fullWaits;
+    
+    public AnswerIngestionRing(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.mask = size - 1;
+        this.published = new long[size];
+        this.columns = new ColumnarAnswerStore.Column[size];
+        this.participants = new int[size];
+        this.options = new byte[size];
+        this.responseMicros = new int[size];
+        this.late = new boolean[size];
+        this.enqueueNanos = new long[size];
+        this.claimed = new AtomicLong();
+        this.publishers = new AtomicInteger();
+        this.closed = true;
+        this.fullWaits = new AtomicLong();
+        for (int i = 0; i < size; i++) {
+            published[i] = -1;
+        }
+    }
+    
+    /**
+     * Publish an answer event, waiting for a free slot while the ring is full.
+     * Returns false only if the ring is stopped (nothing was published); it
+     * then returns once earlier events are applied, so the caller may write
+     * to the store directly without being overtaken by an older event.
+     */
+    public boolean publish(ColumnarAnswerStore.Column column, int participant, byte option,
+                           int micros, boolean isLate) {
+        Thread drainer = consumer;
+        boolean published;
+        // Announce ourselves before checking running, so stop() waits for us
+        publishers.incrementAndGet();
+        try {
+            published = claimAndPublish(column, participant, option, micros, isLate);
+        } finally {
+            publishers.decrementAndGet();
+        }
+        if (!published) {
+            while (drainer != null && drainer.isAlive()) {
+                Thread.yield(); // stop() is still applying what was claimed
+            }
+        }
+        return published;
+    }
+    
+    private boolean claimAndPublish(ColumnarAnswerStore.Column column, int participant, byte option,
+                                    int micros, boolean isLate) {
+        long sequence;
+        boolean waited = false;
+        int spins = 0;
+        while (true) {
+            if (!running) {
+                return false;
+            }
+            sequence = claimed.get();
+            if (sequence - applied > mask) {
+                // Full: wait for the consumer instead of dropping or bypassing it
+                if (!waited) {
+                    waited = true;
+                    fullWaits.incrementAndGet();
+                }
+                LockSupport.unpark(consumer);
+                if (++spins < SPINS_BEFORE_PARK) {
+                    Thread.onSpinWait();
+                } else {
+                    Thread.yield();
+                }
+                continue;
+            }
+            if (claimed.compareAndSet(sequence, sequence + 1)) {
+                break;
+            }
+        }
+        
+        int slot = (int) sequence & mask;
+        columns[slot] = column;
+        participants[slot] = participant;
+        options[slot] = option;
+        responseMicros[slot] = micros;
+        late[slot] = isLate;
+        enqueueNanos[slot] = System.nanoTime();
+        // Volatile, not release: the parked check below must not be reordered before it
+        LONGS.setVolatile(published, slot, sequence);
+        if (parked) {
+            LockSupport.unpark(consumer);
+        }
+        return true;
+    }
+    
+    /**
+     * Start the consumer thread
+     */
+    public synchronized void start(String name) {
+        if (running) {
+            return;
+        }
+        closed = false;
+        Thread thread = new Thread(this::consume, name);
+        thread.setDaemon(true);
+        consumer = thread;
+        running = true;
+        thread.start();
+    }
+    
+    /**
+     * Stop accepting answers, wait for producers already publishing, apply
+     * everything they claimed and stop the consumer thread
+     */
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        // A producer that saw running == true may still claim a slot: wait for it
+        while (publishers.get() > 0) {
+            LockSupport.unpark(consumer); // it may be waiting for room
+            Thread.yield();
+        }
+        closed = true;
+        LockSupport.unpark(consumer);
+        boolean interrupted = false;
+        while (true) {
+            try {
+                consumer.join();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true; // finish the drain, then restore the flag
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    public boolean isRunning() {
+        return running;
+    }
+    
+    /**
+     * Wait until every event claimed so far has been applied.
+     * Returns false if the timeout expired first.
+     */
+    public boolean awaitApplied(long timeoutMillis) {
+        long target = claimed.get();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (applied < target) {
+            if (!running || System.nanoTime() > deadline) {
+                return false;
+            }
+            LockSupport.unpark(consumer);
+            Thread.onSpinWait();
+        }
+        return true;
+    }
+    
+    /**
+     * Consumer loop: apply published events in order
+     */
+    private void consume() {
+        long next = applied;
+        int idle = 0;
+        // After stop, keep going until every claimed slot has been applied
+        while (!closed || next < claimed.get()) {
+            int slot = (int) next & mask;
+            if ((long) LONGS.getAcquire(published, slot) != next) {
+                if (++idle < SPINS_BEFORE_PARK) {
+                    Thread.onSpinWait();
+                } else {
+                    // Publish after the flag is set: the producer sees it and unparks us.
+                    // Publish before: the re-check below sees the event.
+                    parked = true;
+                    if ((long) LONGS.getVolatile(published, slot) != next && !closed) {
+                        LockSupport.park(this);
+                    }
+                    parked = false;
+                }
+                continue;
+            }
+            idle = 0;
+            
+            columns[slot].set(participants[slot], options[slot], responseMicros[slot], late[slot]);
+            columns[slot] = null; // do not keep finished columns reachable
+            
+            long now = System.nanoTime();
+            long latency = now - enqueueNanos[slot];
+            if (appliedCount == 0) {
+                firstApplyNanos = now;
+            }
+            appliedCount = appliedCount + 1;
+            totalLatencyNanos = totalLatencyNanos + latency;
+            if (latency > maxLatencyNanos) {
+                maxLatencyNanos = latency;
+            }
+            lastApplyNanos = now;
+            
+            next++;
+            applied = next;
+        }
+    }
+    
+    /**
+     * Number of events applied so far
+     */
+    public long getAppliedCount() {
+        return appliedCount;
+    }
+    
+    /**
+     * Number of publishes that had to wait because the ring was full
+     */
+    public long getFullWaitCount() {
+        return fullWaits.get();
+    }
+    
+    /**
+     * Average enqueue-to-apply latency in microseconds
+     */
+    public double getAverageLatencyMicros() {
+        long count = appliedCount;
+        return count > 0 ? totalLatencyNanos / (count * 1000.0) : 0.0;
+    }
+    
+    /**
+     * Worst enqueue-to-apply latency in microseconds
+     */
+    public double getMaxLatencyMicros() {
+        return maxLatencyNanos / 1000.0;
+    }
+    
+    /**
+     * Applied answers per second between the first and the latest apply
+     */
+    public double getAnswersPerSecond() {
+        long count = appliedCount;
+        long elapsed = lastApplyNanos - firstApplyNanos;
+        return count > 1 && elapsed > 0 ? (count - 1) * 1_000_000_000.0 / elapsed : 0.0;
+    }
+    
+    public int getCapacity() {
+        return mask + 1;
+    }
+}
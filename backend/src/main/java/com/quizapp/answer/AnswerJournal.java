@@ -0,0 +1,480 @@
+package com.quizapp.answer;
+
+import com.quizapp.score.ScoreManager;
+import java.io.*;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+/**
+ * Answer Journal - Member 3
+ * Append-only binary write-ahead journal for answers and scores
+ *
+ * Network Concepts:
+ * - Crash recovery of server state
+ * - Group commit (one fsync for many records)
+ * - Binary record framing
+ *
+ * Writers only copy a record into an in-memory staging buffer. A flusher
+ * thread writes the buffer through a FileChannel and calls force() every
+ * flushIntervalMs, or sooner once groupSize records are pending, so a crash
+ * loses at most one flush interval of answers.
+ *
+ * Record layout: [int payloadLength][int crc32][byte type][fields...]
+ * Strings are written as [short length][UTF-8 bytes]. A record with a
+ * longer string, or one larger than the staging buffer, is skipped and
+ * counted rather than thrown into the scoring or registration path.
+ *
+ * @author Member 3
+ */
+public class AnswerJournal implements Closeable {
+    public static final byte REGISTER = 1; // clientId, name
+    public static final byte ANSWER = 2;   // clientId, questionId, option, responseMicros, late
+    public static final byte SCORE = 3;    // clientId, points, correct[, category]
+
+    private static final int HEADER_BYTES = 8;
+    private static final int BUFFER_BYTES = 256 * 1024;
+    private static final int MAX_STRING_BYTES = 0xFFFF; // unsigned 16-bit length prefix
+
+    private final Path path;
+    private final FileChannel channel;
+    private final int flushIntervalMs;
+    private final int groupSize;
+
+    // Staging buffers: appenders fill 'active' under the journal lock,
+    // the flusher swaps it with 'spare' and writes it under channelLock
+    private final Object channelLock = new Object();
+    private final CRC32 crc = new CRC32();
+    private ByteBuffer active;
+    private ByteBuffer spare;
+    private int recordStart;
+    private int pendingRecords;
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    // Metrics
+    private volatile long recordsAppended;
+    private final AtomicLong recordsSkipped = new AtomicLong();
+    private volatile long bytesWritten;
+    private volatile long forceCount;
+    private volatile long maxForceNanos;
+    private volatile long totalForceNanos;
+
+    public AnswerJournal(String fileName, int flushIntervalMs, int groupSize) throws IOException {
+        this.path = Paths.get(fileName);
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.channel.position(channel.size());
+        this.flushIntervalMs = flushIntervalMs;
+        this.groupSize = groupSize;
+        this.active = ByteBuffer.allocateDirect(BUFFER_BYTES);
+        this.spare = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    }
+
+    public AnswerJournal(String fileName) throws IOException {
+        this(fileName, 10, 512); // default: force every 10 ms or every 512 records
+    }
+
+    // ==================== Appending ====================
+
+    /**
+     * Journal a client registration
+     */
+    public void logRegister(String clientId, String clientName) {
+        byte[] id = utf8(clientId);
+        byte[] name = utf8(clientName);
+        int length = 1 + sizeOf(id) + sizeOf(name);
+        if (!encodable(length, id, name)) {
+            return;
+        }
+        while (true) {
+            synchronized (this) {
+                if (tryBegin(length)) {
+                    active.put(REGISTER);
+                    putString(active, id);
+                    putString(active, name);
+                    end();
+                    return;
+                }
+            }
+            flushFullBuffer();
+        }
+    }
+
+    /**
+     * Journal a stored answer (canonical option code, see ColumnarAnswerStore)
+     */
+    public void logAnswer(String clientId, String questionId, byte option,
+                          int responseMicros, boolean late) {
+        byte[] id = utf8(clientId);
+        byte[] question = utf8(questionId);
+        int length = 1 + sizeOf(id) + sizeOf(question) + 1 + 4 + 1;
+        if (!encodable(length, id, question)) {
+            return;
+        }
+        while (true) {
+            synchronized (this) {
+                if (tryBegin(length)) {
+                    active.put(ANSWER);
+                    putString(active, id);
+                    putString(active, question);
+                    active.put(option);
+                    active.putInt(responseMicros);
+                    active.put((byte) (late ? 1 : 0));
+                    end();
+                    return;
+                }
+            }
+            flushFullBuffer();
+        }
+    }
+
+    /**
+     * Journal a score update
+     */
+    public void logScore(String clientId, int points, boolean isCorrect) {
+        logScore(clientId, points, isCorrect, null);
+    }
+
+    /**
+     * Journal a score update counted toward a question category (null for none)
+     */
+    public void logScore(String clientId, int points, boolean isCorrect, String category) {
+        byte[] id = utf8(clientId);
+        byte[] categoryBytes = category != null ? utf8(category) : null;
+        int length = 1 + sizeOf(id) + 4 + 1 + (categoryBytes != null ? sizeOf(categoryBytes) : 0);
+        if (!encodable(length, id, categoryBytes)) {
+            return;
+        }
+        while (true) {
+            synchronized (this) {
+                if (tryBegin(length)) {
+                    active.put(SCORE);
+                    putString(active, id);
+                    active.putInt(points);
+                    active.put((byte) (isCorrect ? 1 : 0));
+                    if (categoryBytes != null) {
+                        putString(active, categoryBytes);
+                    }
+                    end();
+                    return;
+                }
+            }
+            flushFullBuffer();
+        }
+    }
+
+    /**
+     * Whether a record can be framed: every string fits its length prefix
+     * and the whole record fits the staging buffer. Otherwise count it as skipped.
+     */
+    private boolean encodable(int payloadLength, byte[]... strings) {
+        boolean fits = HEADER_BYTES + payloadLength <= BUFFER_BYTES;
+        for (byte[] string : strings) {
+            if (string != null && string.length > MAX_STRING_BYTES) {
+                fits = false;
+            }
+        }
+        if (!fits) {
+            recordsSkipped.incrementAndGet();
+            System.err.println("⚠ Answer journal skipped an oversized record (" + payloadLength + " bytes)");
+        }
+        return fits;
+    }
+
+    /**
+     * Start a record in the staging buffer (caller holds the journal lock
+     * and has checked encodable()). Returns false when the buffer has no
+     * room left for it.
+     */
+    private boolean tryBegin(int payloadLength) {
+        int needed = HEADER_BYTES + payloadLength;
+        if (active.remaining() < needed) {
+            return false;
+        }
+        recordStart = active.position();
+        active.putInt(payloadLength);
+        active.putInt(0); // CRC, filled in by end()
+        return true;
+    }
+
+    /**
+     * Fill in the CRC of the record just written and wake the flusher
+     * once a full group is pending
+     */
+    private void end() {
+        ByteBuffer payload = active.duplicate();
+        payload.position(recordStart + HEADER_BYTES).limit(active.position());
+        crc.reset();
+        crc.update(payload);
+        active.putInt(recordStart + 4, (int) crc.getValue());
+
+        recordsAppended++;
+        if (++pendingRecords >= groupSize) {
+            notifyAll();
+        }
+    }
+
+    /**
+     * The staging buffer is full: write it out on the appending thread
+     */
+    private void flushFullBuffer() {
+        try {
+            sync();
+        } catch (IOException e) {
+            System.err.println("⚠ Answer journal write failed: " + e.getMessage());
+        }
+    }
+
+    // ==================== Group commit ====================
+
+    /**
+     * Start the flusher thread (records appended before this are written by sync())
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        flusher = new Thread(this::flushLoop, "answer-journal");
+        flusher.setDaemon(true);
+        flusher.start();
+        System.out.println(String.format("✓ Answer journal open: %s (group commit every %d ms / %d records)",
+            path, flushIntervalMs, groupSize));
+    }
+
+    private void flushLoop() {
+        while (running) {
+            synchronized (this) {
+                if (running && pendingRecords < groupSize) {
+                    try {
+                        wait(flushIntervalMs);
+                    } catch (InterruptedException e) {
+                        break;
+                    }
+                }
+            }
+            try {
+                sync();
+            } catch (IOException e) {
+                System.err.println("⚠ Answer journal write failed: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Write everything appended so far and force it to disk
+     */
+    public void sync() throws IOException {
+        synchronized (channelLock) {
+            ByteBuffer toWrite;
+            int records;
+            synchronized (this) {
+                records = pendingRecords;
+                if (records == 0) {
+                    return;
+                }
+                toWrite = active;
+                active = spare;
+                spare = toWrite;
+                pendingRecords = 0;
+            }
+
+            try {
+                toWrite.flip();
+                while (toWrite.hasRemaining()) {
+                    bytesWritten += channel.write(toWrite);
+                }
+            } finally {
+                toWrite.clear();
+            }
+
+            long start = System.nanoTime();
+            channel.force(false);
+            long elapsed = System.nanoTime() - start;
+            forceCount++;
+            totalForceNanos += elapsed;
+            if (elapsed > maxForceNanos) {
+                maxForceNanos = elapsed;
+            }
+        }
+    }
+
+    /**
+     * Discard the journal contents (a new quiz session is starting)
+     */
+    public void truncate() throws IOException {
+        synchronized (channelLock) {
+            synchronized (this) {
+                active.clear();
+                pendingRecords = 0;
+            }
+            channel.truncate(0);
+            channel.position(0);
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Flush pending records, stop the flusher and close the file
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            running = false;
+            notifyAll();
+        }
+        if (flusher != null) {
+            try {
+                flusher.join(TimeUnit.SECONDS.toMillis(1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        sync();
+        channel.close();
+    }
+
+    // ==================== Recovery ====================
+
+    /**
+     * Replay the journal into an empty collector and score manager.
+     * Call before attaching the journal to them so replayed records are not
+     * journaled again. A torn or corrupt tail (crash mid-write) is cut off.
+     *
+     * @return number of records replayed
+     */
+    public int recover(AnswerCollector collector, ScoreManager scoreManager) throws IOException {
+        synchronized (channelLock) {
+            long size = channel.size();
+            if (size == 0) {
+                return 0;
+            }
+
+            DataInputStream in = new DataInputStream(new BufferedInputStream(
+                Channels.newInputStream(channel.position(0)), 64 * 1024));
+            long validEnd = 0;
+            int replayed = 0;
+            int answers = 0;
+            int scores = 0;
+            CRC32 check = new CRC32();
+
+            while (validEnd + HEADER_BYTES <= size) {
+                int length = in.readInt();
+                int expectedCrc = in.readInt();
+                if (length <= 0 || validEnd + HEADER_BYTES + length > size) {
+                    break; // torn record
+                }
+                byte[] payload = new byte[length];
+                in.readFully(payload);
+                check.reset();
+                check.update(payload);
+                if ((int) check.getValue() != expectedCrc) {
+                    break; // corrupt record
+                }
+
+                // A record can pass its CRC and still be too short for its
+                // type (e.g. written by an older format): treat it as the
+                // corrupt tail instead of failing startup. Every field is
+                // decoded before the record is applied.
+                ByteBuffer record = ByteBuffer.wrap(payload);
+                try {
+                    byte type = record.get();
+                    if (type == REGISTER) {
+                        String clientId = getString(record);
+                        scoreManager.registerClient(clientId, getString(record));
+                    } else if (type == ANSWER) {
+                        String clientId = getString(record);
+                        String questionId = getString(record);
+                        collector.restoreAnswer(clientId, questionId, record.get(),
+                            record.getInt(), record.get() != 0);
+                        answers++;
+                    } else if (type == SCORE) {
+                        String clientId = getString(record);
+                        int points = record.getInt();
+                        boolean isCorrect = record.get() != 0;
+                        String category = record.hasRemaining() ? getString(record) : null; // older records have none
+                        scoreManager.updateScore(clientId, points, isCorrect, category);
+                        scores++;
+                    } else {
+                        break; // unknown record type
+                    }
+                } catch (BufferUnderflowException | IllegalArgumentException e) {
+                    System.err.println(String.format("⚠ Answer journal: malformed record at byte %d: %s",
+                        validEnd, e));
+                    break;
+                }
+                validEnd += HEADER_BYTES + length;
+                replayed++;
+            }
+
+            if (validEnd < size) {
+                System.err.println(String.format("⚠ Answer journal: discarding %d bytes of incomplete tail",
+                    size - validEnd));
+                channel.truncate(validEnd);
+            }
+            channel.position(validEnd);
+
+            System.out.println(String.format("✓ Recovered %d journal records (%d answers, %d score updates)",
+                replayed, answers, scores));
+            return replayed;
+        }
+    }
+
+    // ==================== Helpers ====================
+
+    private static byte[] utf8(String value) {
+        return (value != null ? value : "").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int sizeOf(byte[] string) {
+        return 2 + string.length;
+    }
+
+    private static void putString(ByteBuffer buf, byte[] string) {
+        buf.putShort((short) string.length);
+        buf.put(string);
+    }
+
+    private static String getString(ByteBuffer buf) {
+        byte[] bytes = new byte[buf.getShort() & 0xFFFF];
+        buf.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // ==================== Metrics ====================
+
+    public long getRecordsAppended() { return recordsAppended; }
+    public long getRecordsSkipped() { return recordsSkipped.get(); }
+    public long getBytesWritten() { return bytesWritten; }
+    public long getForceCount() { return forceCount; }
+
+    public double getRecordsPerForce() {
+        return forceCount > 0 ? recordsAppended / (double) forceCount : 0.0;
+    }
+
+    public double getAverageForceMillis() {
+        return forceCount > 0 ? totalForceNanos / (double) forceCount / 1_000_000.0 : 0.0;
+    }
+
+    public double getMaxForceMillis() {
+        return maxForceNanos / 1_000_000.0;
+    }
+
+    /**
+     * One-line summary for server stats
+     */
+    public String getSummary() {
+        return String.format("Journal: %d records (%d skipped), %.1f KB written, %d forces (%.1f records/force, " +
+                "avg %.2f ms / max %.2f ms)",
+            recordsAppended, recordsSkipped.get(), bytesWritten / 1024.0, forceCount, getRecordsPerForce(),
+            getAverageForceMillis(), getMaxForceMillis());
+    }
+}
@@ -0,0 +1,71 @@
+package com.quizapp.answer;
+
+/**
+ * Answer Policy - Member 3
+ * Decides whether a participant may replace an answer they already gave
+ *
+ * - FIRST_WINS: the first answer is final
+ * - LAST_WINS_BEFORE_DEADLINE: answers can be changed until the time limit
+ * - MAX_CHANGES(k): at most k changes, all before the time limit
+ *
+ * Resubmitting the answer already stored is always rejected, so retries
+ * and repeated clicks never cause another write; servers then tell the
+ * client it was already recorded (AnswerCollector.isRecorded).
+ *
+ * The acceptance state of one answer slot is packed in a byte:
+ * (changes << 3) | option, and updated with a single compare-and-set.
+ *
+ * @author Member 3
+ */
+public final class AnswerPolicy {
+    static final int OPTION_BITS = 3;
+    static final int OPTION_MASK = (1 << OPTION_BITS) - 1;
+    static final int MAX_COUNTED_CHANGES = 31; // 5 bits left in the byte
+
+    public static final AnswerPolicy FIRST_WINS = new AnswerPolicy("FIRST_WINS", 0);
+    public static final AnswerPolicy LAST_WINS_BEFORE_DEADLINE =
+        new AnswerPolicy("LAST_WINS_BEFORE_DEADLINE", Integer.MAX_VALUE);
+
+    private final String name;
+    private final int maxChanges;
+
+    private AnswerPolicy(String name, int maxChanges) {
+        this.name = name;
+        this.maxChanges = maxChanges;
+    }
+
+    /**
+     * Allow at most k changes after the first answer (0 <= k <= 31)
+     */
+    public static AnswerPolicy maxChanges(int k) {
+        if (k < 0 || k > MAX_COUNTED_CHANGES) {
+            throw new IllegalArgumentException("Max changes must be between 0 and " +
+                MAX_COUNTED_CHANGES + ": " + k);
+        }
+        return k == 0 ? FIRST_WINS : new AnswerPolicy("MAX_CHANGES(" + k + ")", k);
+    }
+
+    /**
+     * Next acceptance state for a submission, or -1 if it must be rejected
+     */
+    int next(int state, byte option, boolean late) {
+        int current = state & OPTION_MASK;
+        if (current == ColumnarAnswerStore.NO_ANSWER) {
+            return option; // first answer, zero changes
+        }
+        int changes = state >>> OPTION_BITS;
+        if (current == option || late || changes >= maxChanges) {
+            return -1;
+        }
+        return (Math.min(changes + 1, MAX_COUNTED_CHANGES) << OPTION_BITS) | option;
+    }
+
+    public int getMaxChanges() {
+        return maxChanges;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
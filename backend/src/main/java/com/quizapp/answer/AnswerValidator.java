@@ -1,7 +1,9 @@
 package com.quizapp.answer;
 
 import com.quizapp.quiz.Quiz;
+import com.quizapp.quiz.QuizPlan;
 import com.quizapp.answer.AnswerCollector.AnswerData;
+import java.nio.ByteBuffer;
 
 /**
  * Answer Validator - Member 3
@@ -12,51 +14,124 @@ import com.quizapp.answer.AnswerCollector.AnswerData;
  * - Instant feedback generation
  * - Data validation
  * 
+ * Points come from the ScoringRules, compiled per question into a
+ * QuestionScoring table.
+ * 
  * @author Member 3
  */
 public class AnswerValidator {
     private AnswerCollector answerCollector;
-    private int penaltyForLateAnswer;
-    private boolean allowLateAnswers;
+    private ScoringRules scoringRules;
+    private final ResultFrameCache frameCache;
     
     public AnswerValidator(AnswerCollector answerCollector) {
+        this(answerCollector, new ScoringRules());
+    }
+    
+    public AnswerValidator(AnswerCollector answerCollector, ScoringRules scoringRules) {
         this.answerCollector = answerCollector;
-        this.penaltyForLateAnswer = 5; // default: -5 points for late answer
-        this.allowLateAnswers = true; // default: accept late answers
+        this.scoringRules = scoringRules;
+        this.frameCache = new ResultFrameCache(scoringRules);
     }
     
     /**
-     * Result class for validation
+     * Result class for validation.
+     * Immutable, and encoded for the wire when it is built, so results
+     * from the ResultFrameCache are shared by every participant with
+     * the same outcome.
      */
     public static class ValidationResult {
-        private boolean isCorrect;
-        private int pointsEarned;
-        private String feedback;
-        private String correctAnswer;
-        private boolean wasLate;
+        /** Size of the binary frame: 'R', outcome, flags, letter, int points (big-endian) */
+        public static final int BINARY_FRAME_SIZE = 8;
+        
+        private final ResultFrameCache.Outcome outcome;
+        private final boolean isCorrect;
+        private final int pointsEarned;
+        private final String feedback;
+        private final String correctAnswer;
+        private final boolean wasLate;
+        private final boolean streakBonus;
+        private final String clientFrame;
+        private final String jsonPrefix;
+        private final byte[] binaryFrame;
         
         public ValidationResult(boolean isCorrect, int pointsEarned, String feedback, 
                                String correctAnswer, boolean wasLate) {
+            this(isCorrect
+                    ? (wasLate ? ResultFrameCache.Outcome.CORRECT_LATE : ResultFrameCache.Outcome.CORRECT)
+                    : ResultFrameCache.Outcome.WRONG,
+                isCorrect, wasLate, pointsEarned, feedback, correctAnswer, false);
+        }
+        
+        ValidationResult(ResultFrameCache.Outcome outcome, int pointsEarned, String feedback,
+                         String correctAnswer, boolean streakBonus) {
+            this(outcome, outcome.isCorrect(), outcome.isLate(), pointsEarned, feedback,
+                correctAnswer, streakBonus);
+        }
+        
+        private ValidationResult(ResultFrameCache.Outcome outcome, boolean isCorrect, boolean wasLate,
+                                 int pointsEarned, String feedback, String correctAnswer,
+                                 boolean streakBonus) {
+            this.outcome = outcome;
             this.isCorrect = isCorrect;
             this.pointsEarned = pointsEarned;
             this.feedback = feedback;
             this.correctAnswer = correctAnswer;
             this.wasLate = wasLate;
+            this.streakBonus = streakBonus;
+            
+            // Encode once; sending never formats again
+            this.clientFrame = "RESULT|" + outcome.getStatus() + "|" + pointsEarned + "|" + feedback;
+            this.jsonPrefix = "{\"type\":\"RESULT\",\"status\":\"" + outcome.getStatus() + "\"" +
+                ",\"correct\":" + isCorrect +
+                ",\"late\":" + wasLate +
+                ",\"points\":" + pointsEarned +
+                ",\"correctAnswer\":" + (correctAnswer != null ? "\"" + correctAnswer + "\"" : "null") +
+                ",\"message\":\"" + escapeJson(feedback) + "\"";
+            int flags = (isCorrect ? 1 : 0) | (wasLate ? 2 : 0) | (streakBonus ? 4 : 0);
+            this.binaryFrame = ByteBuffer.allocate(BINARY_FRAME_SIZE)
+                .put((byte) 'R')
+                .put((byte) outcome.ordinal())
+                .put((byte) flags)
+                .put(correctAnswer != null && !correctAnswer.isEmpty() ? (byte) correctAnswer.charAt(0) : 0)
+                .putInt(pointsEarned)
+                .array();
         }
         
+        public ResultFrameCache.Outcome getOutcome() { return outcome; }
         public boolean isCorrect() { return isCorrect; }
         public int getPointsEarned() { return pointsEarned; }
         public String getFeedback() { return feedback; }
         public String getCorrectAnswer() { return correctAnswer; }
         public boolean wasLate() { return wasLate; }
+        public boolean hasStreakBonus() { return streakBonus; }
         
         /**
          * Format result for sending to client
-         * Format: RESULT|CORRECT/WRONG|Points|Feedback
+         * Format: RESULT|CORRECT/WRONG/TIMEOUT|Points|Feedback
          */
         public String formatForClient() {
-            String status = isCorrect ? "CORRECT" : "WRONG";
-            return String.format("RESULT|%s|%d|%s", status, pointsEarned, feedback);
+            return clientFrame;
+        }
+        
+        /**
+         * JSON result for a WebSocket client, with the question number and
+         * the client's running score appended to the prebuilt part
+         */
+        public String formatJson(int questionId, int totalScore) {
+            return new StringBuilder(jsonPrefix.length() + 40)
+                .append(jsonPrefix)
+                .append(",\"questionId\":").append(questionId)
+                .append(",\"score\":").append(totalScore)
+                .append('}')
+                .toString();
+        }
+        
+        /**
+         * Compact binary result (shared array, do not modify)
+         */
+        public byte[] getBinaryFrame() {
+            return binaryFrame;
         }
         
         @Override
@@ -64,50 +139,172 @@ public class AnswerValidator {
             return String.format("ValidationResult[correct=%s, points=%d, late=%s]",
                 isCorrect, pointsEarned, wasLate);
         }
+        
+        private static String escapeJson(String text) {
+            StringBuilder escaped = new StringBuilder(text.length());
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c == '"' || c == '\\') {
+                    escaped.append('\\').append(c);
+                } else if (c < 0x20) {
+                    escaped.append(String.format("\\u%04x", (int) c));
+                } else {
+                    escaped.append(c);
+                }
+            }
+            return escaped.toString();
+        }
     }
     
     /**
      * Validate answer for a client
      */
     public ValidationResult validateAnswer(String clientId, Quiz question) {
+        return validateAnswer(clientId, question, 0);
+    }
+    
+    /**
+     * Validate answer for a client who saw the options in a shuffled order.
+     * Stored answers are canonical letters; feedback names the correct
+     * answer by the letter this client saw.
+     */
+    public ValidationResult validateAnswer(String clientId, Quiz question, int optionPermutation) {
+        String correctLetter = question.getCorrectAnswer(optionPermutation);
+        
         // Get the answer data
         AnswerData answerData = answerCollector.getAnswer(clientId, question.getQuestionId());
         
         if (answerData == null) {
-            return new ValidationResult(false, 0, "No answer submitted", 
-                question.getCorrectAnswer(), false);
+            return frameCache.get(ResultFrameCache.Outcome.NO_ANSWER, 0, correctLetter, false);
         }
         
-        // Check if answer is correct
-        boolean isCorrect = question.isCorrectAnswer(answerData.getAnswer());
+        // Check if answer is correct and look up its points
+        byte option = ColumnarAnswerStore.encode(answerData.getAnswer());
+        QuestionScoring scoring = scoringFor(question);
+        boolean isCorrect = scoring.isCorrect(option);
         boolean wasLate = answerData.isLate();
+        int points = scoring.points(option, answerData.getResponseTimeMicros(), wasLate);
         
-        // Calculate points
-        int points = 0;
-        String feedback;
+        return buildResult(isCorrect, wasLate, points, correctLetter);
+    }
+    
+    /**
+     * Validate every participant's answer to a question in one pass.
+     * Flushes the collector first so all accepted answers are included.
+     */
+    public BatchAnswerValidator.BatchResult validateBatch(Quiz question) {
+        answerCollector.flush();
+        ColumnarAnswerStore store = answerCollector.getStore();
+        ColumnarAnswerStore.Column column = store.getColumn(question.getQuestionId());
+        return BatchAnswerValidator.validate(column, store.getParticipantCount(), scoringFor(question));
+    }
+    
+    /**
+     * Build the client-facing result of one participant from a batch
+     * (same outcome and feedback as validateAnswer, without a lookup per client)
+     */
+    public ValidationResult toValidationResult(BatchAnswerValidator.BatchResult batch, int participant,
+                                               Quiz question, int optionPermutation) {
+        String correctLetter = question.getCorrectAnswer(optionPermutation);
+        if (participant < 0 || participant >= batch.getParticipants() || !batch.isAnswered(participant)) {
+            return frameCache.get(ResultFrameCache.Outcome.NO_ANSWER, 0, correctLetter, false);
+        }
+        
+        return buildResult(batch.isCorrect(participant), batch.isLate(participant),
+            batch.getPoints(participant), correctLetter);
+    }
+    
+    /**
+     * Point table of a question under the current scoring rules
+     */
+    public QuestionScoring scoringFor(Quiz question) {
+        return scoringRules.compile(question, answerCollector.getQuestionTimeLimit());
+    }
+    
+    /**
+     * Highest score possible on a plan under the current rules
+     */
+    public int getMaxPossibleScore(QuizPlan plan) {
+        return scoringRules.maxPossibleScore(plan.asList(), answerCollector.getQuestionTimeLimit());
+    }
+    
+    /**
+     * Lowest score possible on a plan under the current rules
+     */
+    public int getMinPossibleScore(QuizPlan plan) {
+        return scoringRules.minPossibleScore(plan.asList());
+    }
+    
+    /**
+     * Apply the streak multiplier to a result (streak = correct answers in a
+     * row before this one)
+     */
+    public ValidationResult applyStreak(ValidationResult result, int streak) {
+        int points = scoringRules.applyStreak(result.getPointsEarned(), streak);
+        if (points == result.getPointsEarned()) {
+            return result;
+        }
+        return frameCache.get(result.getOutcome(), points, result.getCorrectAnswer(), true);
+    }
+    
+    /**
+     * Result of a client who did not answer before the question closed
+     */
+    public ValidationResult timeoutResult(Quiz question, int optionPermutation) {
+        return frameCache.get(ResultFrameCache.Outcome.TIMEOUT, 0,
+            question.getCorrectAnswer(optionPermutation), false);
+    }
+    
+    /**
+     * Result of a client's answer from the points computed when it arrived.
+     * Falls back to validateAnswer if the question was not opened with scoring.
+     */
+    public ValidationResult provisionalResult(String clientId, Quiz question, int optionPermutation) {
+        ColumnarAnswerStore store = answerCollector.getStore();
+        ColumnarAnswerStore.Column column = store.getColumn(question.getQuestionId());
+        QuestionScoring scoring = column != null ? column.getScoring() : null;
+        if (scoring == null) {
+            return validateAnswer(clientId, question, optionPermutation);
+        }
         
-        if (!allowLateAnswers && wasLate) {
-            feedback = "❌ Answer submitted too late! No points awarded.";
-            points = 0;
+        String correctLetter = question.getCorrectAnswer(optionPermutation);
+        int participant = store.findParticipant(clientId);
+        byte option = participant >= 0 ? column.getOption(participant) : ColumnarAnswerStore.NO_ANSWER;
+        if (option == ColumnarAnswerStore.NO_ANSWER) {
+            return frameCache.get(ResultFrameCache.Outcome.NO_ANSWER, 0, correctLetter, false);
+        }
+        return buildResult(scoring.isCorrect(option), column.isLate(participant),
+            column.getProvisionalPoints(participant), correctLetter);
+    }
+    
+    /**
+     * Cached result for an already scored answer (shared, never formatted per client)
+     */
+    public ValidationResult resultFor(boolean isCorrect, boolean wasLate, int points, String correctLetter) {
+        return buildResult(isCorrect, wasLate, points, correctLetter);
+    }
+    
+    /**
+     * Prebuilt RESULT frames handed out by this validator
+     */
+    public ResultFrameCache getFrameCache() {
+        return frameCache;
+    }
+    
+    /**
+     * Result with the same feedback texts as validateAnswer, from the frame cache
+     */
+    private ValidationResult buildResult(boolean isCorrect, boolean wasLate, int points,
+                                         String correctLetter) {
+        ResultFrameCache.Outcome outcome;
+        if (!scoringRules.isAllowLateAnswers() && wasLate) {
+            outcome = isCorrect ? ResultFrameCache.Outcome.TOO_LATE_CORRECT : ResultFrameCache.Outcome.TOO_LATE;
         } else if (isCorrect) {
-            points = question.getPoints();
-            if (wasLate) {
-                points = Math.max(0, points - penaltyForLateAnswer);
-                feedback = String.format("✓ Correct! (Late submission: -%d points)", penaltyForLateAnswer);
-            } else {
-                feedback = "✓ Correct! Well done!";
-            }
+            outcome = wasLate ? ResultFrameCache.Outcome.CORRECT_LATE : ResultFrameCache.Outcome.CORRECT;
         } else {
-            feedback = String.format("✗ Wrong! The correct answer was: %s", 
-                question.getCorrectAnswer());
-            points = 0;
+            outcome = ResultFrameCache.Outcome.WRONG;
         }
-        
-        System.out.println(String.format("✓ Validated: Client=%s, Q=%s, Result=%s, Points=%d",
-            clientId, question.getQuestionId(), isCorrect ? "CORRECT" : "WRONG", points));
-        
-        return new ValidationResult(isCorrect, points, feedback, 
-            question.getCorrectAnswer(), wasLate);
+        return frameCache.get(outcome, points, correctLetter, false);
     }
     
     /**
@@ -171,28 +368,35 @@ public class AnswerValidator {
      * Set penalty for late answers
      */
     public void setPenaltyForLateAnswer(int penalty) {
-        this.penaltyForLateAnswer = penalty;
+        scoringRules.setLatePenalty(penalty);
     }
     
     /**
      * Get penalty for late answers
      */
     public int getPenaltyForLateAnswer() {
-        return penaltyForLateAnswer;
+        return scoringRules.getLatePenalty();
     }
     
     /**
      * Set whether to allow late answers
      */
     public void setAllowLateAnswers(boolean allow) {
-        this.allowLateAnswers = allow;
+        scoringRules.setAllowLateAnswers(allow);
     }
     
     /**
      * Check if late answers are allowed
      */
     public boolean isAllowLateAnswers() {
-        return allowLateAnswers;
+        return scoringRules.isAllowLateAnswers();
+    }
+    
+    /**
+     * Scoring rules used for every question (changes apply to questions opened later)
+     */
+    public ScoringRules getScoringRules() {
+        return scoringRules;
     }
     
     /**
@@ -203,10 +407,16 @@ public class AnswerValidator {
         settings.append("\n╔════════════════════════════════════════╗\n");
         settings.append("║      Validation Settings               ║\n");
         settings.append("╠════════════════════════════════════════╣\n");
-        settings.append(String.format("║ Allow Late Answers: %-18s║%n", 
-            allowLateAnswers ? "YES" : "NO"));
-        settings.append(String.format("║ Late Answer Penalty: %-17d║%n", 
-            penaltyForLateAnswer));
+        settings.append(String.format("║ Allow Late Answers: %-19s║%n", 
+            scoringRules.isAllowLateAnswers() ? "YES" : "NO"));
+        settings.append(String.format("║ Late Answer Penalty: %-18d║%n", 
+            scoringRules.getLatePenalty()));
+        settings.append(String.format("║ Speed Bonus: %-26s║%n",
+            scoringRules.getSpeedCurve() + " up to " + scoringRules.getMaxSpeedBonus()));
+        settings.append(String.format("║ Wrong Answer Penalty: %-17d║%n",
+            scoringRules.getWrongAnswerPenalty()));
+        settings.append(String.format("║ Streak Multipliers: %-19s║%n",
+            scoringRules.hasStreakMultipliers() ? "ON" : "OFF"));
         settings.append("╚════════════════════════════════════════╝\n");
         return settings.toString();
     }
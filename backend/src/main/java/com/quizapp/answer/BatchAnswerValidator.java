@@ -0,0 +1,177 @@
+package com.quizapp.answer;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * Batch Answer Validator - Member 3
+ * Validates every participant's answer to one question in a single pass
+ * over the question's packed option bytes.
+ *
+ * Options are compared eight at a time inside a long (SWAR): the word is
+ * XORed with the correct option repeated in every byte, and a zero-byte
+ * test turns matching bytes into bits. Points are then looked up in the
+ * question's QuestionScoring table, so no String is touched per participant.
+ *
+ * Reads the column without synchronization: call AnswerCollector.flush()
+ * first so every accepted answer has been applied.
+ *
+ * @author Member 3
+ */
+public class BatchAnswerValidator {
+    private static final VarHandle LONG_VIEW =
+        MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final long LOW_SEVEN_BITS = 0x7F7F7F7F7F7F7F7FL;
+    private static final long ONES = 0x0101010101010101L;
+
+    /**
+     * Correctness and points of every participant for one question
+     */
+    public static class BatchResult {
+        private final int participants;
+        private final long[] answeredBits;
+        private final long[] correctBits;
+        private final long[] lateBits;
+        private final int[] points;
+        private final int answeredCount;
+        private final int correctCount;
+
+        BatchResult(int participants, long[] answeredBits, long[] correctBits, long[] lateBits,
+                    int[] points, int answeredCount, int correctCount) {
+            this.participants = participants;
+            this.answeredBits = answeredBits;
+            this.correctBits = correctBits;
+            this.lateBits = lateBits;
+            this.points = points;
+            this.answeredCount = answeredCount;
+            this.correctCount = correctCount;
+        }
+
+        public int getParticipants() { return participants; }
+        public int getAnsweredCount() { return answeredCount; }
+        public int getCorrectCount() { return correctCount; }
+
+        public boolean isAnswered(int participant) {
+            return (answeredBits[participant >>> 6] & (1L << participant)) != 0;
+        }
+
+        public boolean isCorrect(int participant) {
+            return (correctBits[participant >>> 6] & (1L << participant)) != 0;
+        }
+
+        public boolean isLate(int participant) {
+            return (lateBits[participant >>> 6] & (1L << participant)) != 0;
+        }
+
+        public int getPoints(int participant) {
+            return points[participant];
+        }
+
+        /**
+         * Points array indexed by participant (shared, do not modify)
+         */
+        public int[] getPointsArray() {
+            return points;
+        }
+    }
+
+    /**
+     * Validate a column against a question's compiled scoring.
+     * Correct answers are priced from the scoring's time-bucket table,
+     * answered-but-wrong ones get its (usually zero) wrong-answer points.
+     * A null column (nobody answered) gives an empty result.
+     */
+    public static BatchResult validate(ColumnarAnswerStore.Column column, int participants,
+                                       QuestionScoring scoring) {
+        int words = (participants + 63) >>> 6;
+        long[] answeredBits = new long[words];
+        long[] correctBits = new long[words];
+        long[] lateBits = new long[words];
+        int[] points = new int[participants];
+
+        byte correctOption = scoring.getCorrectOption();
+        int wrongPoints = scoring.getWrongPoints();
+        long correctPattern = (correctOption & 0xFFL) * ONES;
+        int answered = 0;
+        int correct = 0;
+
+        int chunks = column != null ? column.chunkCount() : 0;
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            byte[] options = column.optionChunk(chunk);
+            int base = chunk * ColumnarAnswerStore.CHUNK_SIZE;
+            if (options == null || base >= participants) {
+                continue; // nobody in this block answered
+            }
+            long[] late = column.lateChunk(chunk);
+            int length = Math.min(options.length, participants - base);
+
+            // Every chunk is a whole number of 64-participant words
+            for (int offset = 0; offset < length; offset += 64) {
+                long answeredWord = 0;
+                long correctWord = 0;
+                for (int lane = 0; lane < 64 && offset + lane < length; lane += 8) {
+                    long packed = (long) LONG_VIEW.get(options, offset + lane);
+                    answeredWord |= nonZeroBytes(packed) << lane;
+                    correctWord |= zeroBytes(packed ^ correctPattern) << lane;
+                }
+                int word = (base + offset) >>> 6;
+                long valid = validMask(length - offset);
+                answeredWord &= valid;
+                correctWord &= answeredWord;
+                long lateWord = late[offset >>> 6] & answeredWord;
+
+                answeredBits[word] = answeredWord;
+                correctBits[word] = correctWord;
+                lateBits[word] = lateWord;
+                answered += Long.bitCount(answeredWord);
+                correct += Long.bitCount(correctWord);
+
+                // Correct answers are priced by response time; walk their set bits
+                long remaining = correctWord;
+                while (remaining != 0) {
+                    int bit = Long.numberOfTrailingZeros(remaining);
+                    int participant = base + offset + bit;
+                    points[participant] = scoring.points(correctOption,
+                        column.getResponseMicros(participant), (lateWord & (1L << bit)) != 0);
+                    remaining &= remaining - 1;
+                }
+                if (wrongPoints != 0) {
+                    long wrong = answeredWord & ~correctWord;
+                    while (wrong != 0) {
+                        points[base + offset + Long.numberOfTrailingZeros(wrong)] = wrongPoints;
+                        wrong &= wrong - 1;
+                    }
+                }
+            }
+        }
+        return new BatchResult(participants, answeredBits, correctBits, lateBits, points, answered, correct);
+    }
+
+    /**
+     * Bit i set when byte i of the word is zero (exact, no carries between bytes)
+     */
+    static long zeroBytes(long word) {
+        long high = ~(((word & LOW_SEVEN_BITS) + LOW_SEVEN_BITS) | word | LOW_SEVEN_BITS);
+        return gatherHighBits(high);
+    }
+
+    /**
+     * Bit i set when byte i of the word is not zero
+     */
+    static long nonZeroBytes(long word) {
+        return ~zeroBytes(word) & 0xFF;
+    }
+
+    /**
+     * Move the high bit of each byte into the low 8 bits
+     */
+    private static long gatherHighBits(long high) {
+        // After the shift byte i holds bit 8i; the multiply lines them up in the top byte
+        return ((high >>> 7) * 0x0102040810204080L) >>> 56;
+    }
+
+    private static long validMask(int remaining) {
+        return remaining >= 64 ? -1L : (1L << remaining) - 1;
+    }
+}
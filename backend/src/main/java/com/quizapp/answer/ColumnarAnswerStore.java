@@ -0,0 +1,566 @@
+package com.quizapp.answer;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Columnar Answer Store - Member 3
+ * Question-major answer storage built from primitive arrays.
+ * 
+ * Every participant gets a dense index the first time they answer. For each
+ * question a Column holds, per participant index:
+ * - one byte with the chosen option (0 = none, 1-4 = A-D, 5 = other),
+ * - one int with the response time in microseconds from the question epoch,
+ * - one bit in a "late" bitset,
+ * - one acceptance byte used by AnswerPolicy to admit or reject new
+ *   submissions with a compare-and-set before they are stored,
+ * - one int with the provisional points of the answer, computed on write
+ *   when the column has a QuestionScoring.
+ * 
+ * Columns are split into fixed-size chunks that are never copied, so growing
+ * a column cannot lose a concurrent write. Slots are written with release
+ * semantics on the option byte, so a reader that sees an option also sees
+ * the matching time and late bit.
+ * 
+ * Each column also keeps live tallies (respondents, per-option counts, late
+ * count) that are adjusted on every write, so counting answers never needs
+ * a scan.
+ * 
+ * @author Member 3
+ */
+public class ColumnarAnswerStore {
+    public static final byte NO_ANSWER = 0;
+    public static final byte OTHER = 5;
+    
+    // Tally slots: 0 = respondents, 1-5 = per-option counts, 6 = late answers
+    private static final int TALLY_RESPONDENTS = 0;
+    private static final int TALLY_LATE = OTHER + 1;
+    private static final int TALLY_SIZE = TALLY_LATE + 1;
+    private static final int SNAPSHOT_SPINS = 16;          // busy retries before yielding
+    private static final int SNAPSHOT_YIELDS = 64;         // yielding retries before parking
+    private static final long SNAPSHOT_MAX_PARK_NANOS = 1_000_000;
+    
+    private static final int CHUNK_BITS = 10;
+    static final int CHUNK_SIZE = 1 << CHUNK_BITS;           // participants per chunk
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    
+    private static final VarHandle BYTES = MethodHandles.arrayElementVarHandle(byte[].class);
+    private static final VarHandle LONGS = MethodHandles.arrayElementVarHandle(long[].class);
+    
+    private static final String[] LETTERS = { null, "A", "B", "C", "D", "?" };
+    
+    private final Map<String, Integer> participantIndexes;
+    private volatile String[] participantIds;
+    private final AtomicInteger participantCount;
+    private final Map<String, Column> columns;
+    
+    public ColumnarAnswerStore() {
+        this.participantIndexes = new ConcurrentHashMap<>();
+        this.participantIds = new String[CHUNK_SIZE];
+        this.participantCount = new AtomicInteger();
+        this.columns = new ConcurrentHashMap<>();
+    }
+    
+    /**
+     * One block of CHUNK_SIZE participant slots
+     */
+    private static final class Chunk {
+        final byte[] options = new byte[CHUNK_SIZE];
+        final int[] responseTimes = new int[CHUNK_SIZE];
+        final long[] lateBits = new long[CHUNK_SIZE / 64];
+        final byte[] accepted = new byte[CHUNK_SIZE];  // (changes << 3) | option
+        final int[] points = new int[CHUNK_SIZE];
+    }
+    
+    /**
+     * All answers to one question
+     */
+    public static final class Column {
+        private final String questionId;
+        private volatile QuestionEpoch epoch;
+        private volatile QuestionScoring scoring;
+        private volatile boolean open;        // accepting live answers
+        private volatile Chunk[] chunks;
+        private final AtomicIntegerArray tallies;
+        // Writers bump started before and finished after touching the tallies
+        private final AtomicLong responseMicrosSum;
+        private final AtomicLong writesStarted;
+        private final AtomicLong writesFinished;
+        
+        Column(String questionId, QuestionEpoch epoch) {
+            this.questionId = questionId;
+            this.epoch = epoch;
+            this.chunks = new Chunk[1];
+            this.tallies = new AtomicIntegerArray(TALLY_SIZE);
+            this.responseMicrosSum = new AtomicLong();
+            this.writesStarted = new AtomicLong();
+            this.writesFinished = new AtomicLong();
+        }
+        
+        public String getQuestionId() { return questionId; }
+        
+        /**
+         * When the question was opened and its time limit
+         */
+        public QuestionEpoch getEpoch() { return epoch; }
+        
+        /**
+         * Start a new timing window for the question, keeping stored answers
+         * (used when students see the same question in different rounds)
+         */
+        void reopen(QuestionEpoch newEpoch) {
+            this.epoch = newEpoch;
+            this.open = true;
+        }
+        
+        /**
+         * Stop accepting live answers (stored answers are kept)
+         */
+        void close() {
+            this.open = false;
+        }
+        
+        /**
+         * Whether the question is open for live answers
+         */
+        public boolean isOpen() { return open; }
+        
+        /**
+         * How answers to this question are scored (null if not scored on write)
+         */
+        public QuestionScoring getScoring() { return scoring; }
+        
+        /**
+         * Score every answer from now on as it is written, and rescore the
+         * answers already stored (call before the question is sent)
+         */
+        void setScoring(QuestionScoring newScoring) {
+            this.scoring = newScoring;
+            Chunk[] current = chunks;
+            for (int index = 0; index < current.length; index++) {
+                Chunk chunk = current[index];
+                if (chunk == null) {
+                    continue;
+                }
+                for (int slot = 0; slot < CHUNK_SIZE; slot++) {
+                    byte option = (byte) BYTES.getAcquire(chunk.options, slot);
+                    if (option != NO_ANSWER) {
+                        chunk.points[slot] = newScoring.points(option, chunk.responseTimes[slot],
+                            isLate((index << CHUNK_BITS) + slot));
+                    }
+                }
+            }
+        }
+        
+        /**
+         * Admit a new submission under the answer policy. One compare-and-set
+         * on the participant's acceptance slot decides the race between
+         * concurrent submissions; a rejected submission writes nothing.
+         */
+        boolean tryAccept(int participant, byte option, boolean late, AnswerPolicy policy) {
+            Chunk chunk = chunkForWrite(participant);
+            int slot = participant & CHUNK_MASK;
+            while (true) {
+                byte state = (byte) BYTES.getVolatile(chunk.accepted, slot);
+                int next = policy.next(state & 0xFF, option, late);
+                if (next < 0) {
+                    return false;
+                }
+                if (BYTES.compareAndSet(chunk.accepted, slot, state, (byte) next)) {
+                    return true;
+                }
+            }
+        }
+        
+        /**
+         * Number of times a participant changed an accepted answer
+         */
+        public int getChangeCount(int participant) {
+            Chunk chunk = chunkForRead(participant);
+            if (chunk == null) {
+                return 0;
+            }
+            int state = (byte) BYTES.getVolatile(chunk.accepted, participant & CHUNK_MASK) & 0xFF;
+            return state >>> AnswerPolicy.OPTION_BITS;
+        }
+        
+        /**
+         * Option accepted for a participant so far, even if the ingestion
+         * pipeline has not applied it yet (NO_ANSWER if none)
+         */
+        public byte getAcceptedOption(int participant) {
+            Chunk chunk = chunkForRead(participant);
+            if (chunk == null) {
+                return NO_ANSWER;
+            }
+            int state = (byte) BYTES.getVolatile(chunk.accepted, participant & CHUNK_MASK);
+            return (byte) (state & AnswerPolicy.OPTION_MASK);
+        }
+        
+        /**
+         * Store an answer for a participant, replacing any previous one
+         */
+        void set(int participant, byte option, int responseMicros, boolean late) {
+            Chunk chunk = chunkForWrite(participant);
+            int slot = participant & CHUNK_MASK;
+            long bit = 1L << (slot & 63);
+            
+            writesStarted.incrementAndGet();
+            int previousMicros = chunk.responseTimes[slot];
+            chunk.responseTimes[slot] = responseMicros;
+            QuestionScoring currentScoring = scoring;
+            if (currentScoring != null) {
+                chunk.points[slot] = currentScoring.points(option, responseMicros, late);
+            }
+            long previousBits = late
+                ? (long) LONGS.getAndBitwiseOr(chunk.lateBits, slot >>> 6, bit)
+                : (long) LONGS.getAndBitwiseAnd(chunk.lateBits, slot >>> 6, ~bit);
+            byte previous = (byte) BYTES.getAndSet(chunk.options, slot, option);
+            
+            // Adjust live tallies by the difference to the previous answer
+            if (previous == NO_ANSWER) {
+                tallies.incrementAndGet(TALLY_RESPONDENTS);
+                responseMicrosSum.addAndGet(responseMicros);
+            } else {
+                tallies.decrementAndGet(previous);
+                if ((previousBits & bit) != 0) {
+                    tallies.decrementAndGet(TALLY_LATE);
+                }
+                responseMicrosSum.addAndGet(responseMicros - (long) previousMicros);
+            }
+            tallies.incrementAndGet(option);
+            if (late) {
+                tallies.incrementAndGet(TALLY_LATE);
+            }
+            writesFinished.incrementAndGet();
+        }
+        
+        /**
+         * Remove a participant's answer
+         */
+        void clear(int participant) {
+            Chunk chunk = chunkForRead(participant);
+            if (chunk == null) {
+                return;
+            }
+            int slot = participant & CHUNK_MASK;
+            long bit = 1L << (slot & 63);
+            
+            writesStarted.incrementAndGet();
+            BYTES.setVolatile(chunk.accepted, slot, NO_ANSWER);
+            byte previous = (byte) BYTES.getAndSet(chunk.options, slot, NO_ANSWER);
+            long previousBits = (long) LONGS.getAndBitwiseAnd(chunk.lateBits, slot >>> 6, ~bit);
+            chunk.points[slot] = 0;
+            if (previous != NO_ANSWER) {
+                tallies.decrementAndGet(TALLY_RESPONDENTS);
+                tallies.decrementAndGet(previous);
+                responseMicrosSum.addAndGet(-chunk.responseTimes[slot]);
+                if ((previousBits & bit) != 0) {
+                    tallies.decrementAndGet(TALLY_LATE);
+                }
+            }
+            writesFinished.incrementAndGet();
+        }
+        
+        /**
+         * Number of participants with an answer (O(1))
+         */
+        public int getRespondentCount() {
+            return tallies.get(TALLY_RESPONDENTS);
+        }
+        
+        /**
+         * Number of participants who chose an option code (O(1))
+         */
+        public int getOptionCount(byte option) {
+            return tallies.get(option);
+        }
+        
+        /**
+         * Number of late answers (O(1))
+         */
+        public int getLateCount() {
+            return tallies.get(TALLY_LATE);
+        }
+        
+        /**
+         * Consistent copy of all tallies. Retries until no write overlapped
+         * the copy, backing off from spinning to yielding to parking. Every
+         * participant has a bounded number of writes per question, so the
+         * column always goes quiet eventually.
+         */
+        public QuestionTally snapshot() {
+            int[] counts = new int[TALLY_SIZE];
+            long micros;
+            long parkNanos = 1_000;
+            for (int attempt = 0; ; attempt++) {
+                long finished = writesFinished.get();
+                for (int i = 0; i < TALLY_SIZE; i++) {
+                    counts[i] = tallies.get(i);
+                }
+                micros = responseMicrosSum.get();
+                // No writer started since the last completed write: the copy is consistent
+                if (writesStarted.get() == finished) {
+                    break;
+                }
+                if (attempt < SNAPSHOT_SPINS) {
+                    Thread.onSpinWait();
+                } else if (attempt < SNAPSHOT_SPINS + SNAPSHOT_YIELDS) {
+                    Thread.yield();
+                } else {
+                    LockSupport.parkNanos(parkNanos);
+                    parkNanos = Math.min(parkNanos * 2, SNAPSHOT_MAX_PARK_NANOS);
+                }
+            }
+            int[] optionCounts = Arrays.copyOfRange(counts, 1, OTHER + 1);
+            return new QuestionTally(questionId, counts[TALLY_RESPONDENTS], optionCounts,
+                counts[TALLY_LATE], micros);
+        }
+        
+        /**
+         * Option code of a participant (NO_ANSWER if none)
+         */
+        public byte getOption(int participant) {
+            Chunk chunk = chunkForRead(participant);
+            return chunk == null ? NO_ANSWER : (byte) BYTES.getAcquire(chunk.options, participant & CHUNK_MASK);
+        }
+        
+        /**
+         * Response time of a participant in microseconds from the question epoch
+         */
+        public int getResponseMicros(int participant) {
+            Chunk chunk = chunkForRead(participant);
+            return chunk == null ? 0 : chunk.responseTimes[participant & CHUNK_MASK];
+        }
+        
+        /**
+         * Provisional points of a participant's answer (0 if none or not scored)
+         */
+        public int getProvisionalPoints(int participant) {
+            Chunk chunk = chunkForRead(participant);
+            return chunk == null ? 0 : chunk.points[participant & CHUNK_MASK];
+        }
+        
+        public boolean isLate(int participant) {
+            Chunk chunk = chunkForRead(participant);
+            if (chunk == null) {
+                return false;
+            }
+            int slot = participant & CHUNK_MASK;
+            long word = (long) LONGS.getVolatile(chunk.lateBits, slot >>> 6);
+            return (word & (1L << (slot & 63))) != 0;
+        }
+        
+        /**
+         * Number of chunks (blocks of CHUNK_SIZE participants), for batch readers
+         */
+        int chunkCount() {
+            return chunks.length;
+        }
+        
+        /**
+         * Option bytes of one chunk (null if none of its participants answered)
+         */
+        byte[] optionChunk(int index) {
+            Chunk chunk = chunks[index];
+            return chunk != null ? chunk.options : null;
+        }
+        
+        /**
+         * Late bitset of one chunk (null if none of its participants answered)
+         */
+        long[] lateChunk(int index) {
+            Chunk chunk = chunks[index];
+            return chunk != null ? chunk.lateBits : null;
+        }
+        
+        /**
+         * Number of participant slots allocated so far
+         */
+        public int capacity() {
+            return chunks.length * CHUNK_SIZE;
+        }
+        
+        private Chunk chunkForRead(int participant) {
+            Chunk[] current = chunks;
+            int index = participant >>> CHUNK_BITS;
+            return index < current.length ? current[index] : null;
+        }
+        
+        private Chunk chunkForWrite(int participant) {
+            Chunk chunk = chunkForRead(participant);
+            return chunk != null ? chunk : allocateChunk(participant >>> CHUNK_BITS);
+        }
+        
+        private synchronized Chunk allocateChunk(int index) {
+            Chunk[] current = chunks;
+            if (index >= current.length) {
+                // Only the array of chunk references is copied; chunks themselves are shared
+                current = Arrays.copyOf(current, Math.max(index + 1, current.length * 2));
+            }
+            if (current[index] == null) {
+                current[index] = new Chunk();
+            }
+            chunks = current;
+            return current[index];
+        }
+        
+        /**
+         * Approximate heap bytes used by this column
+         */
+        long estimateBytes() {
+            long perChunk = 16 + CHUNK_SIZE                 // options
+                          + 16 + CHUNK_SIZE * 4L            // response times
+                          + 16 + (CHUNK_SIZE / 64) * 8L     // late bits
+                          + 16 + CHUNK_SIZE                 // acceptance states
+                          + 16 + CHUNK_SIZE * 4L            // provisional points
+                          + 24;                             // chunk object
+            long allocated = 0;
+            for (Chunk chunk : chunks) {
+                if (chunk != null) {
+                    allocated++;
+                }
+            }
+            return 64 + chunks.length * 4L + allocated * perChunk;
+        }
+    }
+    
+    /**
+     * Get (or assign) the dense index of a participant
+     */
+    public int participantIndex(String clientId) {
+        Integer index = participantIndexes.get(clientId);
+        if (index != null) {
+            return index;
+        }
+        return register(clientId);
+    }
+    
+    private synchronized int register(String clientId) {
+        Integer existing = participantIndexes.get(clientId);
+        if (existing != null) {
+            return existing;
+        }
+        int index = participantCount.get();
+        String[] ids = participantIds;
+        if (index >= ids.length) {
+            ids = Arrays.copyOf(ids, ids.length * 2);
+        }
+        ids[index] = clientId;
+        participantIds = ids;
+        participantCount.set(index + 1);
+        participantIndexes.put(clientId, index);
+        return index;
+    }
+    
+    /**
+     * Index of a participant, or -1 if they never answered
+     */
+    public int findParticipant(String clientId) {
+        Integer index = participantIndexes.get(clientId);
+        return index != null ? index : -1;
+    }
+    
+    /**
+     * Client ID of a participant index
+     */
+    public String participantId(int index) {
+        return participantIds[index];
+    }
+    
+    public int getParticipantCount() {
+        return participantCount.get();
+    }
+    
+    /**
+     * Open a question with its own epoch, creating its column if needed
+     */
+    public Column openColumn(String questionId, QuestionEpoch epoch) {
+        Column column = column(questionId, epoch);
+        column.reopen(epoch);
+        return column;
+    }
+    
+    /**
+     * Close every open question
+     */
+    public void closeColumns() {
+        for (Column column : columns.values()) {
+            column.close();
+        }
+    }
+    
+    /**
+     * Get the column of a question, creating it with the given epoch if needed
+     * (only for questions the server opened or journaled, never for client input)
+     */
+    public Column column(String questionId, QuestionEpoch epoch) {
+        Column column = columns.get(questionId);
+        if (column != null) {
+            return column;
+        }
+        return columns.computeIfAbsent(questionId, k -> new Column(k, epoch));
+    }
+    
+    /**
+     * Get the column of a question (null if nobody answered it)
+     */
+    public Column getColumn(String questionId) {
+        return columns.get(questionId);
+    }
+    
+    public Collection<Column> getColumns() {
+        return columns.values();
+    }
+    
+    /**
+     * Remove everything
+     */
+    public synchronized void clear() {
+        columns.clear();
+        participantIndexes.clear();
+        participantIds = new String[CHUNK_SIZE];
+        participantCount.set(0);
+    }
+    
+    /**
+     * Approximate heap bytes used by all columns and the participant registry
+     */
+    public long estimateBytes() {
+        long bytes = participantIds.length * 4L + participantCount.get() * 48L;
+        for (Column column : columns.values()) {
+            bytes += column.estimateBytes();
+        }
+        return bytes;
+    }
+    
+    /**
+     * Encode an answer letter as an option code
+     */
+    public static byte encode(String answer) {
+        if (answer == null) {
+            return NO_ANSWER;
+        }
+        String trimmed = answer.trim();
+        if (trimmed.length() == 1) {
+            char c = Character.toUpperCase(trimmed.charAt(0));
+            if (c >= 'A' && c <= 'D') {
+                return (byte) (c - 'A' + 1);
+            }
+        }
+        return OTHER;
+    }
+    
+    /**
+     * Decode an option code back to its letter (null for NO_ANSWER)
+     */
+    public static String decode(byte option) {
+        return LETTERS[option];
+    }
+}
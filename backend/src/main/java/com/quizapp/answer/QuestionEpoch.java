@@ -0,0 +1,60 @@
+package com.quizapp.answer;
+
+/**
+ * Question Epoch - Member 3
+ * Start of one question on the monotonic clock, plus its time limit.
+ * 
+ * Response times are measured with System.nanoTime() against the epoch, so
+ * they are not affected by wall-clock adjustments, and are stored as int
+ * microseconds (enough for questions up to ~35 minutes). The wall-clock
+ * start is kept only to show submission times to people.
+ * 
+ * @author Member 3
+ */
+public final class QuestionEpoch {
+    private final long startNanos;
+    private final long startWallMillis;
+    private final int timeLimitMicros;
+    
+    public QuestionEpoch(long startNanos, long startWallMillis, int timeLimitSeconds) {
+        this.startNanos = startNanos;
+        this.startWallMillis = startWallMillis;
+        this.timeLimitMicros = (int) Math.min(Integer.MAX_VALUE, timeLimitSeconds * 1_000_000L);
+    }
+    
+    /**
+     * Epoch starting now
+     */
+    public static QuestionEpoch start(int timeLimitSeconds) {
+        return new QuestionEpoch(System.nanoTime(), System.currentTimeMillis(), timeLimitSeconds);
+    }
+    
+    /**
+     * Microseconds from the epoch to a System.nanoTime() reading (saturating)
+     */
+    public int elapsedMicros(long nanoTime) {
+        long micros = (nanoTime - startNanos) / 1000;
+        if (micros < 0) {
+            return 0;
+        }
+        return micros > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) micros;
+    }
+    
+    /**
+     * Check if a response time is past the time limit
+     */
+    public boolean isLate(int responseMicros) {
+        return responseMicros > timeLimitMicros;
+    }
+    
+    /**
+     * Wall-clock time of a response (for display only)
+     */
+    public long toWallMillis(int responseMicros) {
+        return startWallMillis + responseMicros / 1000;
+    }
+    
+    public long getStartNanos() { return startNanos; }
+    public long getStartWallMillis() { return startWallMillis; }
+    public int getTimeLimitMicros() { return timeLimitMicros; }
+}
@@ -0,0 +1,54 @@
+package com.quizapp.answer;
+
+/**
+ * Question Scoring - Member 3
+ * What an answer to one question is worth, compiled once from the
+ * ScoringRules when the question opens so each incoming answer can be
+ * scored with a couple of array reads.
+ *
+ * correctPoints holds the points of a correct answer per response-time
+ * bucket; its last entry is used for late answers.
+ *
+ * @author Member 3
+ */
+public final class QuestionScoring {
+    private final byte correctOption;
+    private final int[] correctPoints;
+    private final int bucketMicros;
+    private final int wrongPoints;
+
+    public QuestionScoring(byte correctOption, int[] correctPoints, int bucketMicros, int wrongPoints) {
+        this.correctOption = correctOption;
+        this.correctPoints = correctPoints;
+        this.bucketMicros = Math.max(1, bucketMicros);
+        this.wrongPoints = wrongPoints;
+    }
+
+    /**
+     * Flat scoring: the same points for every on-time correct answer
+     */
+    public QuestionScoring(byte correctOption, int onTimePoints, int latePoints) {
+        this(correctOption, new int[] { onTimePoints, latePoints }, Integer.MAX_VALUE, 0);
+    }
+
+    /**
+     * Points earned by an option code answered after responseMicros
+     */
+    public int points(byte option, int responseMicros, boolean late) {
+        if (option != correctOption) {
+            return option == ColumnarAnswerStore.NO_ANSWER ? 0 : wrongPoints;
+        }
+        int last = correctPoints.length - 1;
+        int bucket = late ? last : Math.min(responseMicros / bucketMicros, last - 1);
+        return correctPoints[bucket];
+    }
+
+    public boolean isCorrect(byte option) {
+        return option == correctOption;
+    }
+
+    public byte getCorrectOption() { return correctOption; }
+    public int getWrongPoints() { return wrongPoints; }
+    public int getMaxPoints() { return correctPoints[0]; }
+    public int getLatePoints() { return correctPoints[correctPoints.length - 1]; }
+}
@@ -0,0 +1,80 @@
+package com.quizapp.answer;
+
+/**
+ * Question Tally - Member 3
+ * Immutable snapshot of the live counters of one question:
+ * respondents, answers per option and late answers.
+ * 
+ * @author Member 3
+ */
+public class QuestionTally {
+    private static final String[] LABELS = { "A", "B", "C", "D", "Other" };
+    
+    private final String questionId;
+    private final int respondents;
+    private final int[] optionCounts; // A, B, C, D, other
+    private final int lateCount;
+    private final long responseMicrosSum;
+    
+    public QuestionTally(String questionId, int respondents, int[] optionCounts, int lateCount,
+                         long responseMicrosSum) {
+        this.questionId = questionId;
+        this.respondents = respondents;
+        this.optionCounts = optionCounts;
+        this.lateCount = lateCount;
+        this.responseMicrosSum = responseMicrosSum;
+    }
+    
+    /**
+     * Tally of a question nobody has answered
+     */
+    public static QuestionTally empty(String questionId) {
+        return new QuestionTally(questionId, 0, new int[LABELS.length], 0, 0);
+    }
+    
+    public String getQuestionId() { return questionId; }
+    public int getRespondents() { return respondents; }
+    public int getLateCount() { return lateCount; }
+    
+    /**
+     * Average response time in microseconds (0 if nobody answered)
+     */
+    public double getAverageResponseMicros() {
+        return respondents > 0 ? responseMicrosSum / (double) respondents : 0.0;
+    }
+    
+    /**
+     * Answers for a letter A-D (0 for anything else)
+     */
+    public int getCount(String letter) {
+        byte option = ColumnarAnswerStore.encode(letter);
+        return option >= 1 && option <= 4 ? optionCounts[option - 1] : 0;
+    }
+    
+    /**
+     * Answers that were not A-D
+     */
+    public int getOtherCount() {
+        return optionCounts[4];
+    }
+    
+    /**
+     * Percentage of respondents that chose a letter
+     */
+    public double getPercentage(String letter) {
+        return respondents > 0 ? (getCount(letter) * 100.0) / respondents : 0.0;
+    }
+    
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("QuestionTally[%s: answers=%d, late=%d, avg=%.1fms,",
+            questionId, respondents, lateCount, getAverageResponseMicros() / 1000.0));
+        for (int i = 0; i < LABELS.length; i++) {
+            if (optionCounts[i] > 0) {
+                sb.append(' ').append(LABELS[i]).append('=').append(optionCounts[i]);
+            }
+        }
+        return sb.append(']').toString();
+    }
+}
@@ -0,0 +1,200 @@
+package com.quizapp.answer;
+
+import com.quizapp.answer.AnswerValidator.ValidationResult;
+
+/**
+ * Result Frame Cache - Member 3
+ * Prebuilt RESULT frames, one per distinct (outcome, points, correct letter)
+ *
+ * Network Concepts:
+ * - Message templating
+ * - One payload shared by many receivers
+ * - Text, JSON and binary wire encodings
+ *
+ * A question only produces a handful of distinct results (correct, late,
+ * wrong with the correct letter, too late, timeout), so every result is
+ * built and encoded once and then handed out to every participant with
+ * the same outcome. Results fan-out does no formatting at all.
+ *
+ * Lookups are lock-free: the table is an immutable open-addressed array
+ * that is copied when a new frame is added (only a few times per quiz).
+ * Feedback texts depend on the scoring rules, so the table is dropped
+ * whenever the rules change.
+ *
+ * @author Member 3
+ */
+public class ResultFrameCache {
+    private static final int INITIAL_CAPACITY = 32;
+
+    /**
+     * Kinds of result a participant can get for one question
+     */
+    public enum Outcome {
+        CORRECT("CORRECT", true, false),
+        CORRECT_LATE("CORRECT", true, true),
+        WRONG("WRONG", false, false),
+        TOO_LATE("WRONG", false, true),          // late answers not allowed
+        TOO_LATE_CORRECT("CORRECT", true, true), // right, but late answers not allowed
+        NO_ANSWER("WRONG", false, false),
+        TIMEOUT("TIMEOUT", false, false);
+
+        private final String status;
+        private final boolean correct;
+        private final boolean late;
+
+        Outcome(String status, boolean correct, boolean late) {
+            this.status = status;
+            this.correct = correct;
+            this.late = late;
+        }
+
+        public String getStatus() { return status; }
+        public boolean isCorrect() { return correct; }
+        public boolean isLate() { return late; }
+    }
+
+    /**
+     * Immutable open-addressed table; replaced, never modified, once published
+     */
+    private static final class Table {
+        final long[] keys;
+        final ValidationResult[] values;
+        final int size;
+        final int rulesVersion;
+
+        Table(int capacity, int size, int rulesVersion) {
+            this.keys = new long[capacity];
+            this.values = new ValidationResult[capacity];
+            this.size = size;
+            this.rulesVersion = rulesVersion;
+        }
+    }
+
+    private final ScoringRules scoringRules;
+    private volatile Table table;
+    private volatile long framesBuilt;
+
+    public ResultFrameCache(ScoringRules scoringRules) {
+        this.scoringRules = scoringRules;
+        this.table = new Table(INITIAL_CAPACITY, 0, scoringRules.getVersion());
+        this.framesBuilt = 0;
+    }
+
+    /**
+     * Cached result for an outcome; built on first use
+     */
+    public ValidationResult get(Outcome outcome, int points, String correctLetter, boolean streakBonus) {
+        long key = key(outcome, points, correctLetter, streakBonus);
+        Table current = table;
+        if (current.rulesVersion == scoringRules.getVersion()) {
+            int mask = current.keys.length - 1;
+            for (int i = mix(key) & mask; current.values[i] != null; i = (i + 1) & mask) {
+                if (current.keys[i] == key) {
+                    return current.values[i];
+                }
+            }
+        }
+        return insert(key, outcome, points, correctLetter, streakBonus);
+    }
+
+    /**
+     * Number of distinct frames currently cached
+     */
+    public int size() {
+        return table.size;
+    }
+
+    /**
+     * Frames built since startup (a miss builds one)
+     */
+    public long getFramesBuilt() {
+        return framesBuilt;
+    }
+
+    /**
+     * Build a frame and publish a copy of the table that contains it
+     */
+    private synchronized ValidationResult insert(long key, Outcome outcome, int points,
+                                                 String correctLetter, boolean streakBonus) {
+        int version = scoringRules.getVersion();
+        Table current = table;
+        if (current.rulesVersion != version) {
+            current = new Table(INITIAL_CAPACITY, 0, version); // rules changed: start over
+        }
+
+        // Another thread may have added it while we waited for the lock
+        int mask = current.keys.length - 1;
+        for (int i = mix(key) & mask; current.values[i] != null; i = (i + 1) & mask) {
+            if (current.keys[i] == key) {
+                return current.values[i];
+            }
+        }
+
+        ValidationResult frame = build(outcome, points, correctLetter, streakBonus);
+        int capacity = current.keys.length;
+        if ((current.size + 1) * 2 > capacity) {
+            capacity *= 2; // keep the load factor at or below one half
+        }
+        Table next = new Table(capacity, current.size + 1, version);
+        for (int i = 0; i < current.keys.length; i++) {
+            if (current.values[i] != null) {
+                put(next, current.keys[i], current.values[i]);
+            }
+        }
+        put(next, key, frame);
+        table = next;
+        framesBuilt++;
+        return frame;
+    }
+
+    private static void put(Table target, long key, ValidationResult value) {
+        int mask = target.keys.length - 1;
+        int i = mix(key) & mask;
+        while (target.values[i] != null) {
+            i = (i + 1) & mask;
+        }
+        target.keys[i] = key;
+        target.values[i] = value;
+    }
+
+    /**
+     * Build the result and all of its encodings (runs once per distinct key)
+     */
+    private ValidationResult build(Outcome outcome, int points, String correctLetter, boolean streakBonus) {
+        String feedback = feedbackFor(outcome, points, correctLetter);
+        if (streakBonus) {
+            feedback += " 🔥 Streak bonus!";
+        }
+        return new ValidationResult(outcome, points, feedback, correctLetter, streakBonus);
+    }
+
+    private String feedbackFor(Outcome outcome, int points, String correctLetter) {
+        switch (outcome) {
+            case CORRECT:
+                return "✓ Correct! Well done!";
+            case CORRECT_LATE:
+                return "✓ Correct! (Late submission: -" + scoringRules.getLatePenalty() + " points)";
+            case WRONG:
+                return points < 0
+                    ? "✗ Wrong! The correct answer was: " + correctLetter + " (" + points + " points)"
+                    : "✗ Wrong! The correct answer was: " + correctLetter;
+            case TOO_LATE:
+            case TOO_LATE_CORRECT:
+                return "❌ Answer submitted too late! No points awarded.";
+            case NO_ANSWER:
+                return "No answer submitted";
+            default:
+                return "Time's up!";
+        }
+    }
+
+    private static long key(Outcome outcome, int points, String correctLetter, boolean streakBonus) {
+        long letter = correctLetter != null ? ColumnarAnswerStore.encode(correctLetter) : 0;
+        return ((long) points << 32) | (outcome.ordinal() << 8) | (streakBonus ? 0x80 : 0) | letter;
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,193 @@
+package com.quizapp.answer;
+
+import com.quizapp.quiz.Quiz;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Scoring Rules - Member 3
+ * Configurable scoring: late penalty, speed bonus, negative marking,
+ * streak multipliers and per-category weights.
+ *
+ * Rules are not evaluated per answer. compile() turns them into a
+ * QuestionScoring table for one question (points by response-time
+ * bucket), and streaks are applied from a small percentage table.
+ *
+ * @author Member 3
+ */
+public class ScoringRules {
+    /**
+     * How the speed bonus falls off over the time limit
+     */
+    public enum SpeedCurve {
+        NONE,       // no bonus
+        LINEAR,     // full bonus at 0 s, falling evenly to 0 at the time limit
+        QUADRATIC   // rewards very fast answers, falls off quickly
+    }
+
+    private volatile int latePenalty;
+    private volatile boolean allowLateAnswers;
+    private volatile SpeedCurve speedCurve;
+    private volatile int maxSpeedBonus;
+    private volatile int speedBuckets;
+    private volatile int wrongAnswerPenalty;
+    private volatile int[] streakPercent;   // multiplier by streak length, in percent
+    private final Map<String, Integer> categoryWeights;
+    private volatile int version;           // bumped by every change
+
+    public ScoringRules() {
+        this.latePenalty = 5;           // default: -5 points for late answer
+        this.allowLateAnswers = true;   // default: accept late answers
+        this.speedCurve = SpeedCurve.NONE;
+        this.maxSpeedBonus = 0;
+        this.speedBuckets = 10;
+        this.wrongAnswerPenalty = 0;    // no negative marking
+        this.streakPercent = new int[] { 100 };
+        this.categoryWeights = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Compile the rules for one question into its point table
+     */
+    public QuestionScoring compile(Quiz question, int timeLimitSeconds) {
+        int weight = getCategoryWeight(question.getCategory());
+        int base = question.getPoints() * weight / 100;
+        int bonus = speedCurve == SpeedCurve.NONE ? 0 : maxSpeedBonus * weight / 100;
+        int buckets = bonus == 0 ? 1 : speedBuckets;
+
+        // One entry per time bucket, plus one for late answers
+        int[] table = new int[buckets + 1];
+        for (int i = 0; i < buckets; i++) {
+            double remaining = (buckets - i) / (double) buckets;
+            double factor = speedCurve == SpeedCurve.QUADRATIC ? remaining * remaining : remaining;
+            table[i] = base + (int) Math.round(bonus * factor);
+        }
+        table[buckets] = allowLateAnswers ? Math.max(0, base - latePenalty) : 0;
+
+        int bucketMicros = buckets == 1
+            ? Integer.MAX_VALUE
+            : (int) Math.min(Integer.MAX_VALUE, timeLimitSeconds * 1_000_000L / buckets);
+        return new QuestionScoring(ColumnarAnswerStore.encode(question.getCorrectAnswer()),
+            table, bucketMicros, -wrongAnswerPenalty);
+    }
+
+    /**
+     * Apply the streak multiplier; streak is the number of correct answers
+     * in a row before this one. Only positive points are multiplied.
+     */
+    public int applyStreak(int points, int streak) {
+        if (points <= 0) {
+            return points;
+        }
+        int[] table = streakPercent;
+        return points * table[Math.min(streak, table.length - 1)] / 100;
+    }
+
+    /**
+     * Highest total a player can reach on these questions in any order
+     * (all correct, as fast as possible, with the streak growing).
+     * Per-student shuffling decides which question meets which streak, so
+     * the largest points are paired with the largest multipliers. At
+     * position i the streak is at most i, so its multiplier is at most the
+     * best of the first i + 1 table entries.
+     */
+    public int maxPossibleScore(List<Quiz> questions, int timeLimitSeconds) {
+        int[] points = new int[questions.size()];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = compile(questions.get(i), timeLimitSeconds).getMaxPoints();
+        }
+        Arrays.sort(points);
+
+        // Both sequences ascending: points[i] meets the i-th smallest multiplier bound
+        int[] table = streakPercent;
+        long unmultiplied = 0;
+        long multiplied = 0; // in percent, divided once so rounding cannot undercount
+        int bestPercent = 0;
+        for (int i = 0; i < points.length; i++) {
+            bestPercent = Math.max(bestPercent, table[Math.min(i, table.length - 1)]);
+            if (points[i] > 0) {
+                multiplied += (long) points[i] * bestPercent;
+            } else {
+                unmultiplied += points[i];
+            }
+        }
+        long total = unmultiplied + multiplied / 100;
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, total));
+    }
+
+    /**
+     * Lowest total a player can reach on these questions (all wrong)
+     */
+    public int minPossibleScore(List<Quiz> questions) {
+        long total = -(long) wrongAnswerPenalty * questions.size();
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(0, total));
+    }
+
+    // ==================== Configuration ====================
+
+    public void setLatePenalty(int penalty) { this.latePenalty = penalty; version++; }
+    public int getLatePenalty() { return latePenalty; }
+
+    public void setAllowLateAnswers(boolean allow) { this.allowLateAnswers = allow; version++; }
+    public boolean isAllowLateAnswers() { return allowLateAnswers; }
+
+    /**
+     * Speed bonus of up to maxBonus points, over the given number of time buckets
+     */
+    public void setSpeedBonus(SpeedCurve curve, int maxBonus, int buckets) {
+        if (buckets < 1) {
+            throw new IllegalArgumentException("Speed bonus needs at least one bucket: " + buckets);
+        }
+        this.speedCurve = curve;
+        this.maxSpeedBonus = maxBonus;
+        this.speedBuckets = buckets;
+        version++;
+    }
+
+    public SpeedCurve getSpeedCurve() { return speedCurve; }
+    public int getMaxSpeedBonus() { return maxSpeedBonus; }
+
+    /**
+     * Points subtracted for a wrong answer (0 disables negative marking)
+     */
+    public void setWrongAnswerPenalty(int penalty) { this.wrongAnswerPenalty = penalty; version++; }
+    public int getWrongAnswerPenalty() { return wrongAnswerPenalty; }
+
+    /**
+     * Multipliers in percent by streak length, e.g. 100, 100, 110, 125, 150:
+     * the fifth correct answer in a row (and later ones) earn 150%
+     */
+    public void setStreakMultipliers(int... percents) {
+        if (percents.length == 0) {
+            throw new IllegalArgumentException("At least one streak multiplier is required");
+        }
+        this.streakPercent = percents.clone();
+        version++;
+    }
+
+    public boolean hasStreakMultipliers() {
+        return streakPercent.length > 1 || streakPercent[0] != 100;
+    }
+
+    /**
+     * Weight of a category in percent (default 100)
+     */
+    public void setCategoryWeight(String category, int percent) {
+        categoryWeights.put(category, percent);
+        version++;
+    }
+
+    public int getCategoryWeight(String category) {
+        return category != null ? categoryWeights.getOrDefault(category, 100) : 100;
+    }
+
+    /**
+     * Changes with every setter call, so anything derived from the rules
+     * (like cached feedback frames) can tell when it is stale
+     */
+    public int getVersion() {
+        return version;
+    }
+}
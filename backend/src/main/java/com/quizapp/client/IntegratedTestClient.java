@@ -131,6 +131,26 @@ public class IntegratedTestClient {
             String leaderboard = message.substring(12).replace("\\n", "\n");
             System.out.println("\n" + leaderboard);
         }
+        else if (message.startsWith("LEADERBOARD_DELTA|")) {
+            // Format: LEADERBOARD_DELTA|version|baseVersion|size|rank:name:score|...
+            String[] parts = message.split("\\|");
+            if (parts.length > 4) {
+                System.out.println("\nLeaderboard changes:");
+                for (int i = 4; i < parts.length; i++) {
+                    String row = parts[i];
+                    int first = row.indexOf(':');
+                    int last = row.lastIndexOf(':');
+                    System.out.println("  #" + row.substring(0, first) + " " + row.substring(first + 1, last) +
+                        " - " + row.substring(last + 1) + " pts");
+                }
+            }
+        }
+        else if (message.startsWith("RANK|")) {
+            // Format: RANK|rank|participants|score
+            String[] parts = message.split("\\|");
+            System.out.println("\n[RANK] You are #" + parts[1] + " of " + parts[2] +
+                " with " + parts[3] + " points");
+        }
         else if (message.startsWith("FINAL_RESULTS|")) {
             // Format: FINAL_RESULTS|results...
             String results = message.substring(14).replace("\\n", "\n");
@@ -0,0 +1,82 @@
+package com.quizapp.quiz;
+
+import java.util.*;
+
+/**
+ * Adaptive Session State - Member 2
+ * Tracks how a class is doing in one adaptive quiz session and which
+ * difficulty bucket the next question should come from.
+ * 
+ * The target moves one bucket harder when the last round went well and
+ * one bucket easier when the class struggled.
+ * 
+ * @author Member 2
+ */
+public class AdaptiveSessionState {
+    private static final double RAISE_THRESHOLD = 75.0; // % correct to make it harder
+    private static final double LOWER_THRESHOLD = 40.0; // % correct to make it easier
+    
+    private final String category; // null = any category
+    private final Set<String> askedQuestionIds;
+    private int targetBucket;
+    private int totalAnswered;
+    private int totalCorrect;
+    
+    public AdaptiveSessionState() {
+        this(null);
+    }
+    
+    public AdaptiveSessionState(String category) {
+        this.category = category;
+        this.askedQuestionIds = new HashSet<>();
+        this.targetBucket = DifficultyIndex.DEFAULT_BUCKET;
+    }
+    
+    /**
+     * Record the class result for a question and adjust the target difficulty
+     */
+    public synchronized void recordRound(int answered, int correct) {
+        totalAnswered += answered;
+        totalCorrect += correct;
+        if (answered == 0) {
+            return;
+        }
+        
+        double roundAccuracy = (correct * 100.0) / answered;
+        if (roundAccuracy >= RAISE_THRESHOLD) {
+            targetBucket = Math.min(DifficultyIndex.BUCKET_COUNT - 1, targetBucket + 1);
+        } else if (roundAccuracy <= LOWER_THRESHOLD) {
+            targetBucket = Math.max(0, targetBucket - 1);
+        }
+    }
+    
+    /**
+     * Mark a question as asked in this session
+     */
+    public synchronized void markAsked(String questionId) {
+        askedQuestionIds.add(questionId);
+    }
+    
+    public synchronized boolean wasAsked(String questionId) {
+        return askedQuestionIds.contains(questionId);
+    }
+    
+    public String getCategory() {
+        return category;
+    }
+    
+    public synchronized int getTargetBucket() {
+        return targetBucket;
+    }
+    
+    public synchronized int getQuestionsAsked() {
+        return askedQuestionIds.size();
+    }
+    
+    /**
+     * Overall class accuracy in this session (0-100)
+     */
+    public synchronized double getClassAccuracy() {
+        return totalAnswered > 0 ? (totalCorrect * 100.0) / totalAnswered : 0.0;
+    }
+}
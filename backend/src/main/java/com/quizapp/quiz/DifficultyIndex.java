@@ -0,0 +1,308 @@
+package com.quizapp.quiz;
+
+import java.util.*;
+
+/**
+ * Difficulty Index - Member 2
+ * Keeps the question bank sorted into difficulty buckets per category,
+ * based on how often each question has been answered correctly.
+ * 
+ * Buckets are array lists with each entry remembering its slot, so moving
+ * a question to another bucket after new results is a swap-remove plus an
+ * append (O(1)). Every adaptive session gets its own pool of unasked
+ * questions with the same buckets; a pick swap-removes a random entry from
+ * the pool, so picking stays O(1) however many questions were asked.
+ * Pools follow bucket moves and are rebuilt lazily after a bank rebuild.
+ * 
+ * @author Member 2
+ */
+public class DifficultyIndex {
+    public static final int BUCKET_COUNT = 5;          // 0 = easiest ... 4 = hardest
+    public static final int DEFAULT_BUCKET = BUCKET_COUNT / 2;
+    private static final String ALL_CATEGORIES = "";
+    
+    /**
+     * One question with its running correctness statistics
+     */
+    private static class Entry {
+        final Quiz quiz;
+        long attempts;
+        long correct;
+        int bucket;
+        // Slot in the category bucket and in the all-categories bucket
+        int categorySlot;
+        int globalSlot;
+        
+        Entry(Quiz quiz) {
+            this.quiz = quiz;
+        }
+    }
+    
+    /**
+     * Questions one session has not been asked yet, bucketed like the index
+     */
+    private static class SessionPool {
+        final List<List<Entry>> buckets = newBuckets();
+        final Map<Entry, Integer> slots = new IdentityHashMap<>();
+        
+        void add(Entry entry) {
+            List<Entry> bucket = buckets.get(entry.bucket);
+            slots.put(entry, bucket.size());
+            bucket.add(entry);
+        }
+        
+        /**
+         * Swap-remove an entry from its current bucket (no-op if not in the pool)
+         */
+        void remove(Entry entry) {
+            Integer slot = slots.remove(entry);
+            if (slot == null) {
+                return;
+            }
+            List<Entry> bucket = buckets.get(entry.bucket);
+            Entry last = bucket.remove(bucket.size() - 1);
+            if (last != entry) {
+                bucket.set(slot, last);
+                slots.put(last, slot);
+            }
+        }
+    }
+    
+    private final Map<String, List<List<Entry>>> bucketsByCategory;
+    private final Map<String, Entry> entriesById;
+    // Statistics survive bank reloads
+    private final Map<String, long[]> history;
+    // Sessions are not closed explicitly, so their pools go when the session does
+    private final Map<AdaptiveSessionState, SessionPool> pools;
+    private final Random random;
+    
+    public DifficultyIndex() {
+        this.bucketsByCategory = new HashMap<>();
+        this.entriesById = new HashMap<>();
+        this.history = new HashMap<>();
+        this.pools = new WeakHashMap<>();
+        this.random = new Random();
+    }
+    
+    /**
+     * Rebuild the buckets for a new question bank, keeping known statistics
+     */
+    public synchronized void rebuild(List<Quiz> questions) {
+        bucketsByCategory.clear();
+        entriesById.clear();
+        pools.clear(); // entries are replaced, sessions rebuild their pools on the next pick
+        
+        for (Quiz quiz : questions) {
+            if (entriesById.containsKey(quiz.getQuestionId())) {
+                continue; // first question with an ID wins
+            }
+            Entry entry = new Entry(quiz);
+            long[] stats = history.get(quiz.getQuestionId());
+            if (stats != null) {
+                entry.attempts = stats[0];
+                entry.correct = stats[1];
+            }
+            entry.bucket = bucketFor(entry.attempts, entry.correct);
+            entriesById.put(quiz.getQuestionId(), entry);
+            
+            List<Entry> categoryBucket = bucketsOf(quiz.getCategory()).get(entry.bucket);
+            entry.categorySlot = categoryBucket.size();
+            categoryBucket.add(entry);
+            
+            List<Entry> globalBucket = bucketsOf(ALL_CATEGORIES).get(entry.bucket);
+            entry.globalSlot = globalBucket.size();
+            globalBucket.add(entry);
+        }
+    }
+    
+    /**
+     * Add the results of one round for a question and move it to its new bucket
+     */
+    public synchronized void recordOutcome(String questionId, int answered, int correct) {
+        long[] stats = history.computeIfAbsent(questionId, k -> new long[2]);
+        stats[0] += answered;
+        stats[1] += correct;
+        
+        Entry entry = entriesById.get(questionId);
+        if (entry == null) {
+            return;
+        }
+        entry.attempts = stats[0];
+        entry.correct = stats[1];
+        
+        int newBucket = bucketFor(entry.attempts, entry.correct);
+        if (newBucket != entry.bucket) {
+            move(entry, newBucket);
+        }
+    }
+    
+    /**
+     * Pick a question for the session's target difficulty.
+     * Tries the target bucket first, then the nearest easier/harder buckets;
+     * returns null when every question of the category has been asked.
+     * The picked question leaves the session's pool.
+     */
+    public synchronized Quiz pick(AdaptiveSessionState state) {
+        SessionPool pool = pools.get(state);
+        if (pool == null) {
+            pool = createPool(state);
+            if (pool == null) {
+                return null;
+            }
+            pools.put(state, pool);
+        }
+        
+        int target = state.getTargetBucket();
+        for (int distance = 0; distance < BUCKET_COUNT; distance++) {
+            Quiz quiz = pickFrom(pool, target + distance, state);
+            if (quiz == null && distance > 0) {
+                quiz = pickFrom(pool, target - distance, state);
+            }
+            if (quiz != null) {
+                return quiz;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Build a session's pool from the current buckets, leaving out asked questions
+     */
+    private SessionPool createPool(AdaptiveSessionState state) {
+        String category = state.getCategory() != null ? state.getCategory() : ALL_CATEGORIES;
+        List<List<Entry>> buckets = bucketsByCategory.get(category);
+        if (buckets == null) {
+            return null;
+        }
+        
+        SessionPool pool = new SessionPool();
+        for (List<Entry> bucket : buckets) {
+            for (Entry entry : bucket) {
+                if (!state.wasAsked(entry.quiz.getQuestionId())) {
+                    pool.add(entry);
+                }
+            }
+        }
+        return pool;
+    }
+    
+    /**
+     * Random pick from one bucket of the session's pool. Every removal is
+     * final, so skipping questions marked as asked elsewhere stays O(1) amortized.
+     */
+    private Quiz pickFrom(SessionPool pool, int bucketIndex, AdaptiveSessionState state) {
+        if (bucketIndex < 0 || bucketIndex >= BUCKET_COUNT) {
+            return null;
+        }
+        List<Entry> bucket = pool.buckets.get(bucketIndex);
+        while (!bucket.isEmpty()) {
+            Entry entry = bucket.get(random.nextInt(bucket.size()));
+            pool.remove(entry);
+            if (!state.wasAsked(entry.quiz.getQuestionId())) {
+                return entry.quiz;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Move an entry between buckets in both its category and the global index
+     */
+    private void move(Entry entry, int newBucket) {
+        // Session pools of this category (or of all categories) follow the move
+        List<SessionPool> following = new ArrayList<>();
+        for (SessionPool pool : pools.values()) {
+            if (pool.slots.containsKey(entry)) {
+                pool.remove(entry);
+                following.add(pool);
+            }
+        }
+        
+        List<List<Entry>> categoryBuckets = bucketsOf(entry.quiz.getCategory());
+        List<List<Entry>> globalBuckets = bucketsOf(ALL_CATEGORIES);
+        
+        // Swap-remove from the old buckets
+        List<Entry> oldCategory = categoryBuckets.get(entry.bucket);
+        Entry lastCategory = oldCategory.remove(oldCategory.size() - 1);
+        if (lastCategory != entry) {
+            oldCategory.set(entry.categorySlot, lastCategory);
+            lastCategory.categorySlot = entry.categorySlot;
+        }
+        List<Entry> oldGlobal = globalBuckets.get(entry.bucket);
+        Entry lastGlobal = oldGlobal.remove(oldGlobal.size() - 1);
+        if (lastGlobal != entry) {
+            oldGlobal.set(entry.globalSlot, lastGlobal);
+            lastGlobal.globalSlot = entry.globalSlot;
+        }
+        
+        // Append to the new buckets
+        entry.bucket = newBucket;
+        List<Entry> newCategory = categoryBuckets.get(newBucket);
+        entry.categorySlot = newCategory.size();
+        newCategory.add(entry);
+        List<Entry> newGlobal = globalBuckets.get(newBucket);
+        entry.globalSlot = newGlobal.size();
+        newGlobal.add(entry);
+        
+        for (SessionPool pool : following) {
+            pool.add(entry);
+        }
+    }
+    
+    private List<List<Entry>> bucketsOf(String category) {
+        return bucketsByCategory.computeIfAbsent(category, k -> newBuckets());
+    }
+    
+    private static List<List<Entry>> newBuckets() {
+        List<List<Entry>> buckets = new ArrayList<>(BUCKET_COUNT);
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets.add(new ArrayList<>());
+        }
+        return buckets;
+    }
+    
+    /**
+     * Map a correctness rate to a bucket (unseen questions start in the middle)
+     */
+    static int bucketFor(long attempts, long correct) {
+        if (attempts == 0) {
+            return DEFAULT_BUCKET;
+        }
+        // 100% correct -> bucket 0 (easiest), 0% correct -> last bucket (hardest)
+        int bucket = (int) (((attempts - correct) * BUCKET_COUNT) / attempts);
+        return Math.min(bucket, BUCKET_COUNT - 1);
+    }
+    
+    /**
+     * Get the current bucket of a question (-1 if unknown)
+     */
+    public synchronized int getBucket(String questionId) {
+        Entry entry = entriesById.get(questionId);
+        return entry != null ? entry.bucket : -1;
+    }
+    
+    /**
+     * Get historical correctness rate of a question (0-100, -1 if never asked)
+     */
+    public synchronized double getCorrectRate(String questionId) {
+        long[] stats = history.get(questionId);
+        if (stats == null || stats[0] == 0) {
+            return -1;
+        }
+        return (stats[1] * 100.0) / stats[0];
+    }
+    
+    /**
+     * Get bucket sizes for a category (null = all categories)
+     */
+    public synchronized int[] getBucketSizes(String category) {
+        int[] sizes = new int[BUCKET_COUNT];
+        List<List<Entry>> buckets = bucketsByCategory.get(category != null ? category : ALL_CATEGORIES);
+        if (buckets != null) {
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                sizes[i] = buckets.get(i).size();
+            }
+        }
+        return sizes;
+    }
+}
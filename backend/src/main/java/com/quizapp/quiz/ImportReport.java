@@ -0,0 +1,123 @@
+package com.quizapp.quiz;
+
+import java.util.*;
+
+/**
+ * Import Report - Member 2
+ * Result of a multi-file question import: which questions were accepted,
+ * which lines were rejected (with line numbers) and which IDs were duplicates.
+ * 
+ * @author Member 2
+ */
+public class ImportReport {
+    
+    /**
+     * A line that could not be parsed
+     */
+    public static class Rejection {
+        private final String fileName;
+        private final int lineNumber;
+        private final String reason;
+        private final String line;
+        
+        public Rejection(String fileName, int lineNumber, String reason, String line) {
+            this.fileName = fileName;
+            this.lineNumber = lineNumber;
+            this.reason = reason;
+            this.line = line;
+        }
+        
+        public String getFileName() { return fileName; }
+        public int getLineNumber() { return lineNumber; }
+        public String getReason() { return reason; }
+        public String getLine() { return line; }
+        
+        @Override
+        public String toString() {
+            return String.format("%s:%d: %s", fileName, lineNumber, reason);
+        }
+    }
+    
+    /**
+     * A question whose ID was already taken
+     */
+    public static class Duplicate {
+        private final String questionId;
+        private final String fileName;
+        private final int lineNumber;
+        private final String firstSeenAt;
+        
+        public Duplicate(String questionId, String fileName, int lineNumber, String firstSeenAt) {
+            this.questionId = questionId;
+            this.fileName = fileName;
+            this.lineNumber = lineNumber;
+            this.firstSeenAt = firstSeenAt;
+        }
+        
+        public String getQuestionId() { return questionId; }
+        public String getFileName() { return fileName; }
+        public int getLineNumber() { return lineNumber; }
+        public String getFirstSeenAt() { return firstSeenAt; }
+        
+        @Override
+        public String toString() {
+            return String.format("%s:%d: duplicate ID %s (first seen at %s)",
+                fileName, lineNumber, questionId, firstSeenAt);
+        }
+    }
+    
+    private final List<Quiz> acceptedQuestions;
+    private final List<Rejection> rejections;
+    private final List<Duplicate> duplicates;
+    private final int filesRead;
+    private final long elapsedMillis;
+    
+    public ImportReport(List<Quiz> acceptedQuestions, List<Rejection> rejections,
+                        List<Duplicate> duplicates, int filesRead, long elapsedMillis) {
+        this.acceptedQuestions = Collections.unmodifiableList(acceptedQuestions);
+        this.rejections = Collections.unmodifiableList(rejections);
+        this.duplicates = Collections.unmodifiableList(duplicates);
+        this.filesRead = filesRead;
+        this.elapsedMillis = elapsedMillis;
+    }
+    
+    public List<Quiz> getAcceptedQuestions() { return acceptedQuestions; }
+    public List<Rejection> getRejections() { return rejections; }
+    public List<Duplicate> getDuplicates() { return duplicates; }
+    public int getAcceptedCount() { return acceptedQuestions.size(); }
+    public int getRejectedCount() { return rejections.size(); }
+    public int getDuplicateCount() { return duplicates.size(); }
+    public int getFilesRead() { return filesRead; }
+    public long getElapsedMillis() { return elapsedMillis; }
+    
+    /**
+     * Check if every line was imported
+     */
+    public boolean isClean() {
+        return rejections.isEmpty() && duplicates.isEmpty();
+    }
+    
+    /**
+     * Get import summary, listing every rejected and duplicate line
+     */
+    public String getSummary() {
+        StringBuilder summary = new StringBuilder();
+        summary.append("\n╔════════════════════════════════════════╗\n");
+        summary.append("║         Question Import Report         ║\n");
+        summary.append("╠════════════════════════════════════════╣\n");
+        summary.append(String.format("║ Files Read: %-27d║%n", filesRead));
+        summary.append(String.format("║ Accepted: %-29d║%n", acceptedQuestions.size()));
+        summary.append(String.format("║ Rejected: %-29d║%n", rejections.size()));
+        summary.append(String.format("║ Duplicates: %-27d║%n", duplicates.size()));
+        summary.append(String.format("║ Time (ms): %-28d║%n", elapsedMillis));
+        summary.append("╚════════════════════════════════════════╝\n");
+        
+        for (Rejection rejection : rejections) {
+            summary.append("   ✗ ").append(rejection).append("\n");
+        }
+        for (Duplicate duplicate : duplicates) {
+            summary.append("   ⚠ ").append(duplicate).append("\n");
+        }
+        return summary.toString();
+    }
+}
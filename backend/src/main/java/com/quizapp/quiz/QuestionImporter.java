@@ -0,0 +1,222 @@
+package com.quizapp.quiz;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Question Importer - Member 2
+ * Parses many question files in parallel on a fork-join pool.
+ * 
+ * The file list is split in halves down to single files, and a file with
+ * more than LINES_PER_TASK lines is split again into line ranges, so one
+ * large file is parsed on several cores. Results are merged in file and
+ * line order so duplicate detection is deterministic:
+ * the first occurrence of an ID wins and later ones are reported.
+ * Parsing and merging are separate steps so the caller can merge under
+ * the lock that guards its question bank.
+ * 
+ * @author Member 2
+ */
+class QuestionImporter {
+    private static final int LINES_PER_TASK = 2048;
+    
+    private final QuizManager quizManager;
+    private final ForkJoinPool pool;
+    
+    QuestionImporter(QuizManager quizManager) {
+        this(quizManager, ForkJoinPool.commonPool());
+    }
+    
+    QuestionImporter(QuizManager quizManager, ForkJoinPool pool) {
+        this.quizManager = quizManager;
+        this.pool = pool;
+    }
+    
+    /**
+     * Parsed content of one file
+     */
+    static class FileResult {
+        final String fileName;
+        final List<Quiz> questions = new ArrayList<>();
+        final List<Integer> lineNumbers = new ArrayList<>();
+        final List<ImportReport.Rejection> rejections = new ArrayList<>();
+        
+        FileResult(String fileName) {
+            this.fileName = fileName;
+        }
+        
+        /**
+         * Append the result of a later line range of the same file
+         */
+        void append(FileResult later) {
+            questions.addAll(later.questions);
+            lineNumbers.addAll(later.lineNumbers);
+            rejections.addAll(later.rejections);
+        }
+    }
+    
+    /**
+     * Splits the file list in halves until a single file remains
+     */
+    @SuppressWarnings("serial")
+    private class ParseTask extends RecursiveTask<List<FileResult>> {
+        private final List<File> files;
+        private final int from;
+        private final int to;
+        
+        ParseTask(List<File> files, int from, int to) {
+            this.files = files;
+            this.from = from;
+            this.to = to;
+        }
+        
+        @Override
+        protected List<FileResult> compute() {
+            if (to - from == 1) {
+                List<FileResult> single = new ArrayList<>(1);
+                single.add(parseFile(files.get(from)));
+                return single;
+            }
+            
+            int mid = (from + to) >>> 1;
+            ParseTask left = new ParseTask(files, from, mid);
+            ParseTask right = new ParseTask(files, mid, to);
+            left.fork();
+            List<FileResult> results = new ArrayList<>(right.compute());
+            results.addAll(0, left.join());
+            return results;
+        }
+    }
+    
+    /**
+     * Splits the lines of one file in halves down to LINES_PER_TASK lines
+     */
+    @SuppressWarnings("serial")
+    private class LineRangeTask extends RecursiveTask<FileResult> {
+        private final String fileName;
+        private final List<String> lines;
+        private final int from;
+        private final int to;
+        
+        LineRangeTask(String fileName, List<String> lines, int from, int to) {
+            this.fileName = fileName;
+            this.lines = lines;
+            this.from = from;
+            this.to = to;
+        }
+        
+        @Override
+        protected FileResult compute() {
+            if (to - from <= LINES_PER_TASK) {
+                return parseLines(fileName, lines, from, to);
+            }
+            
+            int mid = (from + to) >>> 1;
+            LineRangeTask left = new LineRangeTask(fileName, lines, from, mid);
+            LineRangeTask right = new LineRangeTask(fileName, lines, mid, to);
+            left.fork();
+            FileResult later = right.compute();
+            FileResult result = left.join();
+            result.append(later);
+            return result;
+        }
+    }
+    
+    /**
+     * Parse the files in parallel, one result per file in file order
+     */
+    List<FileResult> parseFiles(List<File> files) {
+        return files.isEmpty()
+            ? Collections.emptyList()
+            : pool.invoke(new ParseTask(files, 0, files.size()));
+    }
+    
+    /**
+     * Merge parsed files, skipping IDs in existingIds.
+     * The caller must hold the bank's lock from reading existingIds until
+     * the accepted questions are added, or two imports may accept one ID.
+     */
+    ImportReport merge(List<FileResult> results, Set<String> existingIds, long startMillis) {
+        // Merge in file order with duplicate detection
+        Map<String, String> firstSeen = new HashMap<>();
+        for (String id : existingIds) {
+            firstSeen.put(id, "question bank");
+        }
+        
+        List<Quiz> accepted = new ArrayList<>();
+        List<ImportReport.Rejection> rejections = new ArrayList<>();
+        List<ImportReport.Duplicate> duplicates = new ArrayList<>();
+        
+        for (FileResult result : results) {
+            rejections.addAll(result.rejections);
+            for (int i = 0; i < result.questions.size(); i++) {
+                Quiz question = result.questions.get(i);
+                int lineNumber = result.lineNumbers.get(i);
+                String location = result.fileName + ":" + lineNumber;
+                
+                String previous = firstSeen.putIfAbsent(question.getQuestionId(), location);
+                if (previous == null) {
+                    accepted.add(question);
+                } else {
+                    duplicates.add(new ImportReport.Duplicate(
+                        question.getQuestionId(), result.fileName, lineNumber, previous));
+                }
+            }
+        }
+        
+        return new ImportReport(accepted, rejections, duplicates, results.size(),
+            System.currentTimeMillis() - startMillis);
+    }
+    
+    /**
+     * Parse a single file, recording rejected lines instead of printing them.
+     * Large files are handed to line-range tasks on the current pool.
+     */
+    private FileResult parseFile(File file) {
+        String fileName = file.getName();
+        List<String> lines = new ArrayList<>();
+        
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        } catch (IOException e) {
+            FileResult result = new FileResult(fileName);
+            result.rejections.add(new ImportReport.Rejection(
+                fileName, 0, "cannot read file: " + e.getMessage(), ""));
+            return result;
+        }
+        
+        return lines.size() <= LINES_PER_TASK
+            ? parseLines(fileName, lines, 0, lines.size())
+            : new LineRangeTask(fileName, lines, 0, lines.size()).invoke();
+    }
+    
+    /**
+     * Parse lines [from, to) of a file; line numbers are 1-based
+     */
+    private FileResult parseLines(String fileName, List<String> lines, int from, int to) {
+        FileResult result = new FileResult(fileName);
+        
+        for (int i = from; i < to; i++) {
+            int lineNumber = i + 1;
+            String line = lines.get(i).trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue; // Skip empty lines and comments
+            }
+            
+            try {
+                result.questions.add(quizManager.parseQuestion(line));
+                result.lineNumbers.add(lineNumber);
+            } catch (IllegalArgumentException e) {
+                result.rejections.add(new ImportReport.Rejection(
+                    fileName, lineNumber, e.getMessage(), line));
+            }
+        }
+        
+        return result;
+    }
+}
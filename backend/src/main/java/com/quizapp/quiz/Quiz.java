@@ -101,6 +101,46 @@ public class Quiz {
             questionId, questionNumber, questionText, optionA, optionB, optionC, optionD, points, timeLimit);
     }
     
+    /**
+     * Format question with options in a student's shuffled order.
+     * Permutation 0 is the canonical A-D order (same output as above).
+     */
+    public String formatForClient(int questionNumber, int timeLimit, int optionPermutation) {
+        return String.format("QUESTION|%s|%d|%s|%s|%s|%s|%s|%d|%d",
+            questionId, questionNumber, questionText,
+            optionAt(QuizShuffler.canonicalOptionAt(optionPermutation, 0)),
+            optionAt(QuizShuffler.canonicalOptionAt(optionPermutation, 1)),
+            optionAt(QuizShuffler.canonicalOptionAt(optionPermutation, 2)),
+            optionAt(QuizShuffler.canonicalOptionAt(optionPermutation, 3)),
+            points, timeLimit);
+    }
+    
+    /**
+     * Check an answer given as the letter displayed to a student
+     */
+    public boolean isCorrectAnswer(String displayedAnswer, int optionPermutation) {
+        return isCorrectAnswer(QuizShuffler.toCanonicalLetter(displayedAnswer, optionPermutation));
+    }
+    
+    /**
+     * Correct answer as displayed to a student with the given option order
+     */
+    public String getCorrectAnswer(int optionPermutation) {
+        return QuizShuffler.toDisplayedLetter(correctAnswer, optionPermutation);
+    }
+    
+    /**
+     * Option text by canonical index (0 = A ... 3 = D)
+     */
+    private String optionAt(int index) {
+        switch (index) {
+            case 0: return optionA;
+            case 1: return optionB;
+            case 2: return optionC;
+            default: return optionD;
+        }
+    }
+    
     /**
      * Format question for network transmission (with default time limit)
      * Format: QUESTION|ID|Text|A|B|C|D
@@ -0,0 +1,78 @@
+package com.quizapp.quiz;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Quiz Cursor - Member 2
+ * Per-session position within a QuizPlan.
+ * 
+ * The position is an atomic counter, so the thread that advances the quiz
+ * and the threads that report progress always agree on the current question.
+ * 
+ * @author Member 2
+ */
+public class QuizCursor {
+    private final QuizPlan plan;
+    private final AtomicInteger position;
+    
+    public QuizCursor(QuizPlan plan) {
+        this.plan = plan;
+        this.position = new AtomicInteger(0);
+    }
+    
+    /**
+     * Take the next question and advance (null when the plan is finished)
+     */
+    public Quiz next() {
+        while (true) {
+            int index = position.get();
+            if (index >= plan.size()) {
+                return null;
+            }
+            if (position.compareAndSet(index, index + 1)) {
+                return plan.get(index);
+            }
+        }
+    }
+    
+    /**
+     * Peek at the question that next() would return
+     */
+    public Quiz peek() {
+        int index = position.get();
+        return index < plan.size() ? plan.get(index) : null;
+    }
+    
+    /**
+     * Most recently taken question (null before the first call to next())
+     */
+    public Quiz current() {
+        int index = position.get();
+        return index > 0 ? plan.get(index - 1) : null;
+    }
+    
+    /**
+     * Check if there are more questions
+     */
+    public boolean hasMore() {
+        return position.get() < plan.size();
+    }
+    
+    /**
+     * Number of questions taken so far (1-based number of the current question)
+     */
+    public int getPosition() {
+        return position.get();
+    }
+    
+    /**
+     * Rewind to the first question
+     */
+    public void reset() {
+        position.set(0);
+    }
+    
+    public QuizPlan getPlan() {
+        return plan;
+    }
+}
@@ -16,17 +16,21 @@ import java.util.*;
  */
 public class QuizManager {
     private List<Quiz> allQuestions;
-    private List<Quiz> currentQuizQuestions;
-    private int currentQuestionIndex;
+    private volatile QuizCursor currentCursor; // default session used by prepareQuiz()
     private boolean quizLoaded;
     private String questionsFilePath;
+    private StringPool stringPool;
+    private DifficultyIndex difficultyIndex;
+    private final List<File> importedFiles; // replayed on every reload, in import order
     
     public QuizManager() {
         this.allQuestions = new ArrayList<>();
-        this.currentQuizQuestions = new ArrayList<>();
-        this.currentQuestionIndex = 0;
+        this.currentCursor = new QuizCursor(QuizPlan.empty());
         this.quizLoaded = false;
         this.questionsFilePath = "questions.txt";
+        this.stringPool = new StringPool();
+        this.difficultyIndex = new DifficultyIndex();
+        this.importedFiles = new ArrayList<>();
     }
     
     public QuizManager(String questionsFilePath) {
@@ -38,8 +42,35 @@ public class QuizManager {
      * Load questions from file
      * Format: ID|Question|A|B|C|D|Answer|Points|Category
      */
-    public boolean loadQuestions() {
+    public synchronized boolean loadQuestions() {
+        boolean loaded = readQuestionSources();
+        difficultyIndex.rebuild(allQuestions);
+        return loaded;
+    }
+    
+    /**
+     * Load the default questions, the questions file and then every
+     * previously imported file, so a reload keeps imported questions
+     */
+    private boolean readQuestionSources() {
+        boolean loaded = readBaseQuestions();
+        if (!importedFiles.isEmpty()) {
+            QuestionImporter importer = new QuestionImporter(this);
+            ImportReport report = importer.merge(importer.parseFiles(importedFiles),
+                getLoadedQuestionIds(), System.currentTimeMillis());
+            allQuestions.addAll(report.getAcceptedQuestions());
+            System.out.println("✓ Re-imported " + report.getAcceptedQuestions().size()
+                + " questions from " + importedFiles.size() + " imported files");
+        }
+        return loaded;
+    }
+    
+    /**
+     * Load the default questions followed by the questions file
+     */
+    private boolean readBaseQuestions() {
         allQuestions.clear();
+        stringPool.clear();
         
         // Always load default questions first
         loadDefaultQuestions();
@@ -77,6 +108,7 @@ public class QuizManager {
             if (count > 0) {
                 System.out.println("✓ Loaded " + count + " additional questions from file");
             }
+            System.out.println("✓ String pool: " + stringPool.getSummary());
             return true;
             
         } catch (IOException e) {
@@ -92,39 +124,76 @@ public class QuizManager {
      */
     private Quiz parseQuestionLine(String line) {
         try {
-            String[] parts = line.split("\\|");
-            if (parts.length >= 7) {
-                String id = parts[0].trim();
-                String question = parts[1].trim();
-                String optionA = parts[2].trim();
-                String optionB = parts[3].trim();
-                String optionC = parts[4].trim();
-                String optionD = parts[5].trim();
-                String answer = parts[6].trim();
-                
-                int points = 10; // default
-                String category = "General"; // default
-                
-                if (parts.length >= 8) {
-                    points = Integer.parseInt(parts[7].trim());
-                }
-                if (parts.length >= 9) {
-                    category = parts[8].trim();
-                }
-                
-                return new Quiz(id, question, optionA, optionB, optionC, optionD, answer, points, category);
-            }
-        } catch (Exception e) {
-            System.err.println("Error parsing line: " + line);
+            return parseQuestion(line);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error parsing line: " + line + " (" + e.getMessage() + ")");
         }
         return null;
     }
     
+    /**
+     * Parse a question line, throwing IllegalArgumentException with the reason
+     * when the line is malformed. Safe to call from several threads.
+     */
+    Quiz parseQuestion(String line) {
+        String[] parts = line.split("\\|");
+        if (parts.length < 7) {
+            throw new IllegalArgumentException("expected at least 7 fields, found " + parts.length);
+        }
+        
+        String id = parts[0].trim();
+        String question = parts[1].trim();
+        String optionA = parts[2].trim();
+        String optionB = parts[3].trim();
+        String optionC = parts[4].trim();
+        String optionD = parts[5].trim();
+        String answer = parts[6].trim().toUpperCase();
+        
+        if (id.isEmpty()) {
+            throw new IllegalArgumentException("missing question ID");
+        }
+        if (!answer.equals("A") && !answer.equals("B") && !answer.equals("C") && !answer.equals("D")) {
+            throw new IllegalArgumentException("answer must be A, B, C or D, found '" + answer + "'");
+        }
+        
+        int points = 10; // default
+        String category = "General"; // default
+        
+        if (parts.length >= 8) {
+            try {
+                points = Integer.parseInt(parts[7].trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("invalid points value '" + parts[7].trim() + "'");
+            }
+        }
+        if (parts.length >= 9) {
+            category = parts[8].trim();
+        }
+        
+        return createQuiz(id, question, optionA, optionB, optionC, optionD, answer, points, category);
+    }
+    
+    /**
+     * Build a question whose repeated strings (options, answer, category)
+     * are shared through the string pool
+     */
+    private Quiz createQuiz(String id, String question, String optionA, String optionB,
+                            String optionC, String optionD, String answer, int points, String category) {
+        return new Quiz(id, question,
+            stringPool.intern(optionA),
+            stringPool.intern(optionB),
+            stringPool.intern(optionC),
+            stringPool.intern(optionD),
+            stringPool.intern(answer.toUpperCase()),
+            points,
+            stringPool.intern(category));
+    }
+    
     /**
      * Load default questions if file not found
      */
     private void loadDefaultQuestions() {
-        allQuestions.add(new Quiz("Q1", 
+        allQuestions.add(createQuiz("Q1", 
             "What does TCP stand for?",
             "Transmission Control Protocol",
             "Transfer Control Protocol",
@@ -132,7 +201,7 @@ public class QuizManager {
             "Transition Control Protocol",
             "A", 10, "Network Basics"));
             
-        allQuestions.add(new Quiz("Q2",
+        allQuestions.add(createQuiz("Q2",
             "What is the default port for HTTP?",
             "80",
             "8080",
@@ -140,7 +209,7 @@ public class QuizManager {
             "8000",
             "A", 10, "Network Basics"));
             
-        allQuestions.add(new Quiz("Q3",
+        allQuestions.add(createQuiz("Q3",
             "Which layer of OSI model does TCP belong to?",
             "Physical Layer",
             "Data Link Layer",
@@ -148,7 +217,7 @@ public class QuizManager {
             "Application Layer",
             "C", 15, "OSI Model"));
             
-        allQuestions.add(new Quiz("Q4",
+        allQuestions.add(createQuiz("Q4",
             "What does IP stand for?",
             "Internet Protocol",
             "Internal Protocol",
@@ -156,7 +225,7 @@ public class QuizManager {
             "Interconnect Protocol",
             "A", 10, "Network Basics"));
             
-        allQuestions.add(new Quiz("Q5",
+        allQuestions.add(createQuiz("Q5",
             "Which protocol is connectionless?",
             "TCP",
             "UDP",
@@ -164,7 +233,7 @@ public class QuizManager {
             "HTTP",
             "B", 15, "Protocols"));
             
-        allQuestions.add(new Quiz("Q6",
+        allQuestions.add(createQuiz("Q6",
             "What is the maximum size of TCP packet?",
             "32 KB",
             "64 KB",
@@ -172,7 +241,7 @@ public class QuizManager {
             "256 KB",
             "B", 20, "Advanced"));
             
-        allQuestions.add(new Quiz("Q7",
+        allQuestions.add(createQuiz("Q7",
             "What does DNS stand for?",
             "Domain Name System",
             "Domain Network System",
@@ -180,7 +249,7 @@ public class QuizManager {
             "Data Network Service",
             "A", 10, "Network Services"));
             
-        allQuestions.add(new Quiz("Q8",
+        allQuestions.add(createQuiz("Q8",
             "Which is NOT a private IP address range?",
             "10.0.0.0 - 10.255.255.255",
             "172.16.0.0 - 172.31.255.255",
@@ -188,7 +257,7 @@ public class QuizManager {
             "200.0.0.0 - 200.255.255.255",
             "D", 15, "IP Addressing"));
             
-        allQuestions.add(new Quiz("Q9",
+        allQuestions.add(createQuiz("Q9",
             "What is the purpose of ARP?",
             "Resolve IP to MAC address",
             "Resolve domain to IP",
@@ -196,7 +265,7 @@ public class QuizManager {
             "Encrypt data",
             "A", 15, "Network Protocols"));
             
-        allQuestions.add(new Quiz("Q10",
+        allQuestions.add(createQuiz("Q10",
             "What is localhost IP address?",
             "192.168.1.1",
             "127.0.0.1",
@@ -209,26 +278,129 @@ public class QuizManager {
     }
     
     /**
-     * Prepare quiz with specified number of random questions
+     * Import every question file (*.txt) in a directory.
+     * Files are parsed in parallel and merged with duplicate-ID detection.
      */
-    public void prepareQuiz(int numberOfQuestions) {
+    public ImportReport importDirectory(String directoryPath) {
+        File directory = new File(directoryPath);
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(".txt"));
+        if (files == null) {
+            System.err.println("✗ Not a directory: " + directoryPath);
+            return importFiles(Collections.emptyList());
+        }
+        Arrays.sort(files);
+        return importFiles(Arrays.asList(files));
+    }
+    
+    /**
+     * Import several question files in parallel and add the accepted
+     * questions to the bank. Questions whose ID is already loaded (or appears
+     * earlier in the import) are reported as duplicates and skipped.
+     * Imported files are remembered and re-read by later loadQuestions() calls.
+     */
+    public ImportReport importFiles(List<File> files) {
+        long start = System.currentTimeMillis();
+        synchronized (this) {
+            if (!quizLoaded) {
+                // Imports extend the bank, they do not replace the defaults and questions file
+                loadQuestions();
+            }
+        }
+        QuestionImporter importer = new QuestionImporter(this);
+        List<QuestionImporter.FileResult> parsed = importer.parseFiles(files);
+        
+        // Duplicate check and add under one lock, so concurrent imports cannot both accept an ID
+        ImportReport report;
+        synchronized (this) {
+            report = importer.merge(parsed, getLoadedQuestionIds(), start);
+            allQuestions.addAll(report.getAcceptedQuestions());
+            importedFiles.addAll(files);
+            difficultyIndex.rebuild(allQuestions);
+        }
+        
+        System.out.println(report.getSummary());
+        return report;
+    }
+    
+    /**
+     * IDs of all questions currently in the bank
+     */
+    private synchronized Set<String> getLoadedQuestionIds() {
+        Set<String> ids = new HashSet<>();
+        for (Quiz q : allQuestions) {
+            ids.add(q.getQuestionId());
+        }
+        return ids;
+    }
+    
+    /**
+     * Create an immutable plan with the specified number of random questions.
+     * Each session gets its own plan, so several sessions can share one bank.
+     */
+    public synchronized QuizPlan createPlan(int numberOfQuestions) {
         if (!quizLoaded) {
             loadQuestions();
         }
         
-        currentQuizQuestions.clear();
-        currentQuestionIndex = 0;
-        
         if (numberOfQuestions >= allQuestions.size()) {
-            currentQuizQuestions.addAll(allQuestions);
-        } else {
-            // Random selection
-            List<Quiz> shuffled = new ArrayList<>(allQuestions);
-            Collections.shuffle(shuffled);
-            currentQuizQuestions.addAll(shuffled.subList(0, numberOfQuestions));
+            return QuizPlan.of(allQuestions);
         }
         
-        System.out.println("✓ Quiz prepared with " + currentQuizQuestions.size() + " questions");
+        // Random selection
+        List<Quiz> shuffled = new ArrayList<>(allQuestions);
+        Collections.shuffle(shuffled);
+        return QuizPlan.of(shuffled.subList(0, numberOfQuestions));
+    }
+    
+    /**
+     * Pick the next question for an adaptive session in O(1): a random
+     * unasked question from the difficulty bucket the class is ready for.
+     * Returns null when the session has run out of questions.
+     */
+    public Quiz nextAdaptiveQuestion(AdaptiveSessionState sessionState) {
+        if (!quizLoaded) {
+            loadQuestions();
+        }
+        
+        Quiz question = difficultyIndex.pick(sessionState);
+        if (question != null) {
+            sessionState.markAsked(question.getQuestionId());
+        }
+        return question;
+    }
+    
+    /**
+     * Feed the answers collected for a question back into the difficulty
+     * buckets (incremental, no recompute of the whole bank)
+     */
+    public void recordQuestionOutcome(String questionId, int answered, int correct) {
+        difficultyIndex.recordOutcome(questionId, answered, correct);
+    }
+    
+    /**
+     * Record a question outcome and adjust the adaptive session's target difficulty
+     */
+    public void recordQuestionOutcome(AdaptiveSessionState sessionState, String questionId,
+                                      int answered, int correct) {
+        recordQuestionOutcome(questionId, answered, correct);
+        sessionState.recordRound(answered, correct);
+    }
+    
+    /**
+     * Get the difficulty buckets of the loaded bank
+     */
+    public DifficultyIndex getDifficultyIndex() {
+        return difficultyIndex;
+    }
+    
+    /**
+     * Prepare quiz with specified number of random questions
+     */
+    public void prepareQuiz(int numberOfQuestions) {
+        QuizPlan plan = createPlan(numberOfQuestions);
+        currentCursor = new QuizCursor(plan);
+        
+        System.out.println("✓ Quiz prepared with " + plan.size() + " questions");
     }
     
     /**
@@ -242,27 +414,21 @@ public class QuizManager {
      * Get current question
      */
     public Quiz getCurrentQuestion() {
-        if (hasMoreQuestions()) {
-            return currentQuizQuestions.get(currentQuestionIndex);
-        }
-        return null;
+        return currentCursor.peek();
     }
     
     /**
      * Move to next question
      */
     public Quiz getNextQuestion() {
-        if (hasMoreQuestions()) {
-            return currentQuizQuestions.get(currentQuestionIndex++);
-        }
-        return null;
+        return currentCursor.next();
     }
     
     /**
      * Check if there are more questions
      */
     public boolean hasMoreQuestions() {
-        return currentQuestionIndex < currentQuizQuestions.size();
+        return currentCursor.hasMore();
     }
     
     /**
@@ -276,33 +442,35 @@ public class QuizManager {
      * Get current question number (1-based)
      */
     public int getCurrentQuestionNumber() {
-        return currentQuestionIndex + 1;
+        return currentCursor.getPosition() + 1;
     }
     
     /**
      * Get question by ID
      */
     public Quiz getQuestionById(String questionId) {
-        for (Quiz q : currentQuizQuestions) {
-            if (q.getQuestionId().equals(questionId)) {
-                return q;
-            }
-        }
-        return null;
+        return currentCursor.getPlan().getQuestionById(questionId);
     }
     
     /**
      * Get all questions in current quiz
      */
     public List<Quiz> getCurrentQuizQuestions() {
-        return new ArrayList<>(currentQuizQuestions);
+        return new ArrayList<>(currentCursor.getPlan().asList());
+    }
+    
+    /**
+     * Get the plan prepared by prepareQuiz()
+     */
+    public QuizPlan getCurrentPlan() {
+        return currentCursor.getPlan();
     }
     
     /**
      * Reset quiz to start
      */
     public void resetQuiz() {
-        currentQuestionIndex = 0;
+        currentCursor.reset();
     }
     
     /**
@@ -314,16 +482,23 @@ public class QuizManager {
         stats.append("║         Quiz Statistics                ║\n");
         stats.append("╠════════════════════════════════════════╣\n");
         stats.append(String.format("║ Total Questions Available: %-11d║%n", allQuestions.size()));
-        stats.append(String.format("║ Questions in Current Quiz: %-11d║%n", currentQuizQuestions.size()));
+        stats.append(String.format("║ Questions in Current Quiz: %-11d║%n", currentCursor.getPlan().size()));
         stats.append(String.format("║ Current Question Number:   %-11d║%n", getCurrentQuestionNumber()));
         stats.append("╚════════════════════════════════════════╝\n");
         return stats.toString();
     }
     
+    /**
+     * Get the string pool shared by loaded questions
+     */
+    public StringPool getStringPool() {
+        return stringPool;
+    }
+    
     /**
      * Check if quiz is loaded and ready
      */
     public boolean isQuizReady() {
-        return quizLoaded && !currentQuizQuestions.isEmpty();
+        return quizLoaded && !currentCursor.getPlan().isEmpty();
     }
 }
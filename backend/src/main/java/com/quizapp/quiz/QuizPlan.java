@@ -0,0 +1,104 @@
+package com.quizapp.quiz;
+
+import java.util.*;
+
+/**
+ * Quiz Plan - Member 2
+ * Immutable, array-backed list of the questions chosen for one quiz session.
+ * 
+ * A plan never changes after it is created, so any number of threads
+ * (scheduler, socket handlers, console commands) can read it without
+ * locking. Progress through the plan is tracked separately by a QuizCursor.
+ * 
+ * @author Member 2
+ */
+public final class QuizPlan {
+    private static final QuizPlan EMPTY = new QuizPlan(new Quiz[0]);
+    
+    private final Quiz[] questions;
+    private final Map<String, Integer> indexById;
+    private final int maxPossibleScore;
+    
+    private QuizPlan(Quiz[] questions) {
+        this.questions = questions;
+        
+        Map<String, Integer> index = new HashMap<>();
+        int total = 0;
+        for (int i = 0; i < questions.length; i++) {
+            index.putIfAbsent(questions[i].getQuestionId(), i);
+            total += questions[i].getPoints();
+        }
+        this.indexById = Collections.unmodifiableMap(index);
+        this.maxPossibleScore = total;
+    }
+    
+    /**
+     * Create a plan holding a copy of the given questions
+     */
+    public static QuizPlan of(List<Quiz> questions) {
+        if (questions.isEmpty()) {
+            return EMPTY;
+        }
+        return new QuizPlan(questions.toArray(new Quiz[0]));
+    }
+    
+    /**
+     * Plan with no questions
+     */
+    public static QuizPlan empty() {
+        return EMPTY;
+    }
+    
+    /**
+     * Number of questions in the plan
+     */
+    public int size() {
+        return questions.length;
+    }
+    
+    public boolean isEmpty() {
+        return questions.length == 0;
+    }
+    
+    /**
+     * Get question at a 0-based position
+     */
+    public Quiz get(int index) {
+        return questions[index];
+    }
+    
+    /**
+     * Get question by ID (null if not part of this plan)
+     */
+    public Quiz getQuestionById(String questionId) {
+        Integer index = indexById.get(questionId);
+        return index != null ? questions[index] : null;
+    }
+    
+    /**
+     * Get 0-based position of a question (-1 if not part of this plan)
+     */
+    public int indexOf(String questionId) {
+        Integer index = indexById.get(questionId);
+        return index != null ? index : -1;
+    }
+    
+    /**
+     * Sum of the base points of every question in the plan
+     */
+    public int getMaxPossibleScore() {
+        return maxPossibleScore;
+    }
+    
+    /**
+     * Read-only list view of the plan
+     */
+    public List<Quiz> asList() {
+        return Collections.unmodifiableList(Arrays.asList(questions));
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("QuizPlan[questions=%d, maxScore=%d]", questions.length, maxPossibleScore);
+    }
+}
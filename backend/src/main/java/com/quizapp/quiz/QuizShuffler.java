@@ -0,0 +1,174 @@
+package com.quizapp.quiz;
+
+/**
+ * Quiz Shuffler - Member 2
+ * Gives every student their own question order and A-D option order,
+ * derived from a per-student seed instead of stored per student.
+ * 
+ * - Question order: a 4-round Feistel network over the question indexes
+ *   (with cycle walking), so position -> question is computed on the fly.
+ * - Option order: one of the 24 permutations of A-D, chosen by hashing the
+ *   student seed with the question ID. Letters are mapped through small
+ *   precomputed tables in O(1) without allocating.
+ * 
+ * @author Member 2
+ */
+public class QuizShuffler {
+    private static final String[] LETTERS = { "A", "B", "C", "D" };
+    private static final int FEISTEL_ROUNDS = 4;
+    
+    /** Number of distinct option orders (4!) */
+    public static final int OPTION_PERMUTATIONS = 24;
+    
+    // [permutation][displayed position] -> canonical option index
+    private static final byte[][] DISPLAY_TO_CANONICAL = new byte[OPTION_PERMUTATIONS][4];
+    // [permutation][canonical option index] -> displayed position
+    private static final byte[][] CANONICAL_TO_DISPLAY = new byte[OPTION_PERMUTATIONS][4];
+    
+    static {
+        int p = 0;
+        for (int a = 0; a < 4; a++) {
+            for (int b = 0; b < 4; b++) {
+                for (int c = 0; c < 4; c++) {
+                    int d = 6 - a - b - c;
+                    if (a == b || a == c || b == c || d < 0 || d > 3 || d == a || d == b || d == c) {
+                        continue;
+                    }
+                    byte[] order = { (byte) a, (byte) b, (byte) c, (byte) d };
+                    for (int pos = 0; pos < 4; pos++) {
+                        DISPLAY_TO_CANONICAL[p][pos] = order[pos];
+                        CANONICAL_TO_DISPLAY[p][order[pos]] = (byte) pos;
+                    }
+                    p++;
+                }
+            }
+        }
+    }
+    
+    private final long sessionSeed;
+    private final boolean enabled;
+    
+    public QuizShuffler(long sessionSeed) {
+        this(sessionSeed, true);
+    }
+    
+    public QuizShuffler(long sessionSeed, boolean enabled) {
+        this.sessionSeed = sessionSeed;
+        this.enabled = enabled;
+    }
+    
+    /**
+     * Shuffler that keeps the canonical order for everyone
+     */
+    public static QuizShuffler identity() {
+        return new QuizShuffler(0, false);
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * Seed of a student in this session (String hash codes are cached, so this is cheap)
+     */
+    public long studentSeed(String clientId) {
+        return mix(sessionSeed ^ clientId.hashCode());
+    }
+    
+    /**
+     * Plan index of the question a student sees at a given 0-based round
+     */
+    public int questionIndex(String clientId, int round, int questionCount) {
+        if (!enabled || questionCount <= 1) {
+            return round;
+        }
+        return permuteIndex(round, questionCount, studentSeed(clientId));
+    }
+    
+    /**
+     * Option permutation (0-23) a student sees for a question; 0 is the canonical order
+     */
+    public int optionPermutation(String clientId, String questionId) {
+        if (!enabled) {
+            return 0;
+        }
+        long h = mix(studentSeed(clientId) ^ questionId.hashCode());
+        return (int) ((h >>> 1) % OPTION_PERMUTATIONS);
+    }
+    
+    /**
+     * Map a displayed letter back to the canonical letter.
+     * Anything that is not A-D is returned unchanged.
+     */
+    public static String toCanonicalLetter(String displayedLetter, int permutation) {
+        int pos = letterIndex(displayedLetter);
+        if (pos < 0) {
+            return displayedLetter;
+        }
+        return LETTERS[DISPLAY_TO_CANONICAL[permutation][pos]];
+    }
+    
+    /**
+     * Map a canonical letter to the letter a student sees
+     */
+    public static String toDisplayedLetter(String canonicalLetter, int permutation) {
+        int index = letterIndex(canonicalLetter);
+        if (index < 0) {
+            return canonicalLetter;
+        }
+        return LETTERS[CANONICAL_TO_DISPLAY[permutation][index]];
+    }
+    
+    /**
+     * Canonical option index (0-3) shown at a displayed position
+     */
+    public static int canonicalOptionAt(int permutation, int displayedPosition) {
+        return DISPLAY_TO_CANONICAL[permutation][displayedPosition];
+    }
+    
+    /**
+     * Index 0-3 of a single letter A-D (either case, surrounding spaces ignored), else -1
+     */
+    private static int letterIndex(String letter) {
+        if (letter == null) {
+            return -1;
+        }
+        String trimmed = letter.trim();
+        if (trimmed.length() != 1) {
+            return -1;
+        }
+        char c = Character.toUpperCase(trimmed.charAt(0));
+        return (c >= 'A' && c <= 'D') ? c - 'A' : -1;
+    }
+    
+    /**
+     * Feistel permutation of [0, n) with cycle walking
+     */
+    static int permuteIndex(int index, int n, long seed) {
+        int bits = 32 - Integer.numberOfLeadingZeros(n - 1);
+        int halfBits = (bits + 1) / 2;
+        int mask = (1 << halfBits) - 1;
+        
+        int x = index;
+        do {
+            int left = x >>> halfBits;
+            int right = x & mask;
+            for (int round = 0; round < FEISTEL_ROUNDS; round++) {
+                int next = left ^ ((int) mix(seed + round * 0x9E3779B97F4A7C15L + right) & mask);
+                left = right;
+                right = next;
+            }
+            x = (left << halfBits) | right;
+        } while (x >= n); // the domain is at most 4n, so this walks a few steps at most
+        return x;
+    }
+    
+    /**
+     * SplitMix64 finaliser
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
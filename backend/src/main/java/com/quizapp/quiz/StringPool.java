@@ -0,0 +1,117 @@
+package com.quizapp.quiz;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * String Pool - Member 2
+ * Deduplicates strings that repeat across a question bank
+ * (option texts such as "TCP" or "80", categories, answer letters)
+ * so every Quiz shares one instance instead of holding its own copy.
+ *
+ * Safe to use from several loader threads at once.
+ *
+ * @author Member 2
+ */
+public class StringPool {
+    // Approximate heap cost of a String: object header + fields + byte[] header
+    private static final int STRING_OVERHEAD_BYTES = 24 + 16;
+
+    private final Map<String, String> pool;
+    private final AtomicLong lookups;
+    private final AtomicLong hits;
+    private final AtomicLong bytesSaved;
+
+    public StringPool() {
+        this.pool = new ConcurrentHashMap<>();
+        this.lookups = new AtomicLong();
+        this.hits = new AtomicLong();
+        this.bytesSaved = new AtomicLong();
+    }
+
+    /**
+     * Return the shared instance equal to the given string
+     */
+    public String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        lookups.incrementAndGet();
+
+        String existing = pool.putIfAbsent(value, value);
+        if (existing == null) {
+            return value;
+        }
+
+        hits.incrementAndGet();
+        if (existing != value) {
+            // Only a separate copy is saved; passing the pooled instance again
+            // (a literal such as a default category) frees nothing
+            bytesSaved.addAndGet(estimateSize(value));
+        }
+        return existing;
+    }
+
+    /**
+     * Estimate the retained size of a string (compact Latin-1 or UTF-16 storage)
+     */
+    public static long estimateSize(String value) {
+        boolean latin1 = true;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > 0xFF) {
+                latin1 = false;
+                break;
+            }
+        }
+        int payload = latin1 ? value.length() : value.length() * 2;
+        // Arrays are padded to 8 bytes
+        return STRING_OVERHEAD_BYTES + ((payload + 7) & ~7);
+    }
+
+    /**
+     * Number of distinct strings held by the pool
+     */
+    public int getDistinctCount() {
+        return pool.size();
+    }
+
+    /**
+     * Number of intern calls that were served by an existing instance
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * Total number of intern calls
+     */
+    public long getLookupCount() {
+        return lookups.get();
+    }
+
+    /**
+     * Approximate heap bytes saved by sharing instances
+     */
+    public long getBytesSaved() {
+        return bytesSaved.get();
+    }
+
+    /**
+     * Forget all pooled strings and reset the counters
+     */
+    public void clear() {
+        pool.clear();
+        lookups.set(0);
+        hits.set(0);
+        bytesSaved.set(0);
+    }
+
+    /**
+     * One-line summary for load reports
+     */
+    public String getSummary() {
+        return String.format("%d strings interned, %d distinct, %d duplicates shared (~%.1f KB saved)",
+            lookups.get(), pool.size(), hits.get(), bytesSaved.get() / 1024.0);
+    }
+}
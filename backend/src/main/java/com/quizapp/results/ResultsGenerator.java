@@ -1,5 +1,6 @@
 package com.quizapp.results;
 
+import com.quizapp.score.Leaderboard;
 import com.quizapp.score.ScoreManager;
 import com.quizapp.score.ScoreManager.ClientScore;
 import com.quizapp.quiz.QuizManager;
@@ -197,9 +198,35 @@ public class ResultsGenerator {
             return "No results found for client: " + clientId;
         }
         
-        int rank = scoreManager.getRank(clientId);
-        int totalParticipants = scoreManager.getAllScores().size();
-        
+        return renderPersonalResult(score, scoreManager.getRank(clientId), scoreManager.getAllScores().size());
+    }
+    
+    /**
+     * Receives each participant's personal result as soon as it is rendered
+     */
+    public interface PersonalResultSink {
+        void send(String clientId, String personalResult, String personalRanking);
+    }
+    
+    /**
+     * Personal result and nearby ranking (±1) of every participant, rendered
+     * in one walk over one leaderboard snapshot and handed to the sink one
+     * participant at a time. Returns the number of participants.
+     */
+    public int streamPersonalResults(Leaderboard leaderboard, PersonalResultSink sink) {
+        List<ClientScore> ranked = scoreManager.getSnapshot().getScores();
+        int total = ranked.size();
+        for (int i = 0; i < total; i++) {
+            ClientScore score = ranked.get(i);
+            int first = Math.max(0, i - 1);
+            String ranking = leaderboard.renderPersonalRanking(
+                ranked.subList(first, Math.min(total, i + 2)), first + 1, score.getClientId());
+            sink.send(score.getClientId(), renderPersonalResult(score, i + 1, total), ranking);
+        }
+        return total;
+    }
+    
+    private String renderPersonalResult(ClientScore score, int rank, int totalParticipants) {
         StringBuilder personal = new StringBuilder();
         personal.append("\n");
         personal.append("╔════════════════════════════════════════════════════════════╗\n");
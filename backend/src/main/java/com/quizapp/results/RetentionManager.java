@@ -0,0 +1,437 @@
+package com.quizapp.results;
+
+import com.quizapp.answer.AnswerCollector;
+import com.quizapp.answer.ColumnarAnswerStore;
+import com.quizapp.score.ScoreManager;
+import com.quizapp.score.ScoreManager.ClientScore;
+import java.io.*;
+import java.util.*;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Retention Manager - Member 5
+ * Moves the answers and scores of completed quiz sessions from the heap
+ * to a compact archive file on disk
+ *
+ * Network Concepts:
+ * - Bounded server memory for long-running servers
+ * - Persistent storage of results
+ *
+ * A completed session stays in memory (for late result queries) until the
+ * completed sessions together exceed the memory budget, or until a new
+ * session starts on the same answer collector and score manager. It is
+ * then written to <archiveDir>/<sessionId>.qarc and cleared from memory.
+ * If writing fails while a new session needs the stores, the old session's
+ * answers and scores are moved out of them into the session itself, so
+ * they stay in memory and are archived on a later attempt.
+ *
+ * Archive layout (gzip): magic, version, session id, start/end time,
+ * participant ids, scores, and per question one byte per participant
+ * (option code, bit 7 = late) followed by the answered participants'
+ * response times in microseconds.
+ *
+ * @author Member 5
+ */
+public class RetentionManager {
+    private static final int MAGIC = 0x51415243; // "QARC"
+    private static final int VERSION = 1;
+    private static final int LATE_FLAG = 0x80;
+
+    private final File archiveDir;
+    private volatile long memoryBudgetBytes;
+    private final Map<String, Session> sessions;     // in start order
+    private final List<ArchivedSession> archived;
+    private long totalFreedBytes;
+
+    /**
+     * A session whose data is still on the heap, either in the shared
+     * stores or (once detached) in private copies
+     */
+    private static class Session {
+        final String sessionId;
+        AnswerCollector answerCollector;  // null once detached
+        ScoreManager scoreManager;        // may be null; null once detached
+        ColumnarAnswerStore detachedAnswers;
+        List<ClientScore> detachedScores;
+        final long startTime;
+        long endTime;
+
+        Session(String sessionId, AnswerCollector answerCollector, ScoreManager scoreManager) {
+            this.sessionId = sessionId;
+            this.answerCollector = answerCollector;
+            this.scoreManager = scoreManager;
+            this.startTime = System.currentTimeMillis();
+        }
+
+        boolean isCompleted() {
+            return endTime != 0;
+        }
+
+        boolean isDetached() {
+            return answerCollector == null;
+        }
+
+        boolean sharesStoresWith(AnswerCollector collector, ScoreManager scores) {
+            return answerCollector == collector || (scoreManager != null && scoreManager == scores);
+        }
+
+        ColumnarAnswerStore answers() {
+            return isDetached() ? detachedAnswers : answerCollector.getStore();
+        }
+
+        List<ClientScore> scores() {
+            if (isDetached()) {
+                return detachedScores;
+            }
+            return scoreManager != null ? new ArrayList<>(scoreManager.getAllScores()) : Collections.emptyList();
+        }
+
+        /**
+         * Move the data out of the shared stores, leaving them empty
+         */
+        void detach() {
+            detachedAnswers = answerCollector.detachStore();
+            detachedScores = scoreManager != null ? scoreManager.getSortedScores() : Collections.emptyList();
+            if (scoreManager != null) {
+                scoreManager.clearAll();
+            }
+            answerCollector = null;
+            scoreManager = null;
+        }
+
+        long retainedBytes() {
+            long bytes = answers().estimateBytes();
+            if (scoreManager != null) {
+                bytes += scoreManager.estimateBytes();
+            } else if (detachedScores != null) {
+                bytes += ScoreManager.estimateBytes(detachedScores);
+            }
+            return bytes;
+        }
+    }
+
+    /**
+     * Summary of a session written to disk
+     */
+    public static class ArchivedSession {
+        private final String sessionId;
+        private final File file;
+        private final int participants;
+        private final int questions;
+        private final int answers;
+        private final long fileBytes;
+        private final long freedBytes;
+
+        ArchivedSession(String sessionId, File file, int participants, int questions,
+                        int answers, long fileBytes, long freedBytes) {
+            this.sessionId = sessionId;
+            this.file = file;
+            this.participants = participants;
+            this.questions = questions;
+            this.answers = answers;
+            this.fileBytes = fileBytes;
+            this.freedBytes = freedBytes;
+        }
+
+        public String getSessionId() { return sessionId; }
+        public File getFile() { return file; }
+        public int getParticipants() { return participants; }
+        public int getQuestions() { return questions; }
+        public int getAnswers() { return answers; }
+        public long getFileBytes() { return fileBytes; }
+        public long getFreedBytes() { return freedBytes; }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %d participants, %d questions, %d answers, %.1f KB on disk, %.1f KB freed",
+                sessionId, participants, questions, answers, fileBytes / 1024.0, freedBytes / 1024.0);
+        }
+    }
+
+    public RetentionManager(String archiveDir, long memoryBudgetBytes) {
+        this.archiveDir = new File(archiveDir);
+        this.memoryBudgetBytes = memoryBudgetBytes;
+        this.sessions = new LinkedHashMap<>();
+        this.archived = new ArrayList<>();
+    }
+
+    public RetentionManager(String archiveDir) {
+        this(archiveDir, 32L * 1024 * 1024); // default: 32 MB of completed sessions
+    }
+
+    // ==================== Session lifecycle ====================
+
+    /**
+     * Track a new session. Completed sessions that used the same collector
+     * or score manager are archived first, since the new session reuses them.
+     * 
+     * Returns false if one of them could not be archived: its data has then
+     * been moved out of the stores (which are left empty) and stays in
+     * memory, so the caller must not clear anything on its behalf.
+     */
+    public synchronized boolean beginSession(String sessionId, AnswerCollector answerCollector,
+                                             ScoreManager scoreManager) {
+        boolean archivedAll = true;
+        for (Session session : new ArrayList<>(sessions.values())) {
+            if (session.isCompleted() && session.sharesStoresWith(answerCollector, scoreManager)
+                    && archive(session) == null) {
+                session.detach();
+                archivedAll = false;
+                System.out.println("⚠ Session " + session.sessionId + " kept in memory until it can be archived");
+            }
+        }
+        sessions.put(sessionId, new Session(sessionId, answerCollector, scoreManager));
+        return archivedAll;
+    }
+
+    /**
+     * Mark a session as completed and archive old sessions if over budget
+     */
+    public synchronized void completeSession(String sessionId) {
+        Session session = sessions.get(sessionId);
+        if (session == null) {
+            return;
+        }
+        session.endTime = System.currentTimeMillis();
+        enforceBudget();
+    }
+
+    /**
+     * Archive the oldest completed sessions until the rest fit the memory budget
+     */
+    public synchronized void enforceBudget() {
+        Iterator<Session> oldestFirst = new ArrayList<>(sessions.values()).iterator();
+        while (getCompletedRetainedBytes() > memoryBudgetBytes && oldestFirst.hasNext()) {
+            Session session = oldestFirst.next();
+            if (session.isCompleted()) {
+                archive(session);
+            }
+        }
+    }
+
+    /**
+     * Archive every completed session (e.g. on shutdown)
+     */
+    public synchronized void archiveAll() {
+        for (Session session : new ArrayList<>(sessions.values())) {
+            if (session.isCompleted()) {
+                archive(session);
+            }
+        }
+    }
+
+    /**
+     * Write a session to disk and clear its answers and scores from memory.
+     * If writing fails the data stays in memory (and null is returned).
+     */
+    private ArchivedSession archive(Session session) {
+        long retained = session.retainedBytes();
+        File file = new File(archiveDir, session.sessionId + ".qarc");
+        try {
+            if (!archiveDir.isDirectory() && !archiveDir.mkdirs()) {
+                throw new IOException("Cannot create archive directory " + archiveDir);
+            }
+            ArchivedSession result = write(session, file, retained);
+
+            if (session.isDetached()) {
+                session.detachedAnswers = null;
+                session.detachedScores = null;
+            } else {
+                session.answerCollector.clearAllAnswers();
+                if (session.scoreManager != null) {
+                    session.scoreManager.clearAll();
+                }
+            }
+            sessions.remove(session.sessionId);
+            archived.add(result);
+            totalFreedBytes += retained;
+
+            System.out.println("📦 Archived session " + result);
+            return result;
+        } catch (IOException e) {
+            System.err.println("⚠ Could not archive session " + session.sessionId + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private ArchivedSession write(Session session, File file, long retained) throws IOException {
+        // Answers must be complete before they are written
+        if (!session.isDetached()) {
+            session.answerCollector.flush();
+        }
+        ColumnarAnswerStore store = session.answers();
+        int participants = store.getParticipantCount();
+        Collection<ColumnarAnswerStore.Column> columns = store.getColumns();
+        List<ClientScore> scores = session.scores();
+        int answers = 0;
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                new GZIPOutputStream(new FileOutputStream(file))))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeUTF(session.sessionId);
+            out.writeLong(session.startTime);
+            out.writeLong(session.endTime);
+
+            out.writeInt(participants);
+            for (int i = 0; i < participants; i++) {
+                out.writeUTF(store.participantId(i));
+            }
+
+            out.writeInt(scores.size());
+            for (ClientScore score : scores) {
+                out.writeUTF(score.getClientId());
+                out.writeUTF(score.getClientName());
+                out.writeInt(score.getTotalScore());
+                out.writeInt(score.getCorrectAnswers());
+                out.writeInt(score.getWrongAnswers());
+                out.writeInt(score.getQuestionsAttempted());
+            }
+
+            out.writeInt(columns.size());
+            byte[] packed = new byte[participants];
+            for (ColumnarAnswerStore.Column column : columns) {
+                out.writeUTF(column.getQuestionId());
+                int respondents = 0;
+                for (int i = 0; i < participants; i++) {
+                    byte option = column.getOption(i);
+                    packed[i] = (byte) (option | (column.isLate(i) ? LATE_FLAG : 0));
+                    if (option != ColumnarAnswerStore.NO_ANSWER) {
+                        respondents++;
+                    }
+                }
+                out.write(packed, 0, participants);
+                out.writeInt(respondents);
+                for (int i = 0; i < participants; i++) {
+                    if ((packed[i] & ~LATE_FLAG) != ColumnarAnswerStore.NO_ANSWER) {
+                        out.writeInt(column.getResponseMicros(i));
+                    }
+                }
+                answers += respondents;
+            }
+        }
+
+        return new ArchivedSession(session.sessionId, file, participants, columns.size(),
+            answers, file.length(), retained);
+    }
+
+    /**
+     * Read back the summary of an archive file
+     */
+    public static ArchivedSession inspect(File file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(new FileInputStream(file))))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Not a quiz archive: " + file);
+            }
+            String sessionId = in.readUTF();
+            in.readLong(); // start time
+            in.readLong(); // end time
+
+            int participants = in.readInt();
+            for (int i = 0; i < participants; i++) {
+                in.readUTF();
+            }
+            int scores = in.readInt();
+            for (int i = 0; i < scores; i++) {
+                in.readUTF();
+                in.readUTF();
+                in.skipBytes(16);
+            }
+
+            int questions = in.readInt();
+            int answers = 0;
+            for (int q = 0; q < questions; q++) {
+                in.readUTF();
+                in.skipBytes(participants);
+                int respondents = in.readInt();
+                in.skipBytes(respondents * 4);
+                answers += respondents;
+            }
+            return new ArchivedSession(sessionId, file, participants, questions, answers, file.length(), 0);
+        }
+    }
+
+    // ==================== Memory gauges ====================
+
+    /**
+     * Approximate heap bytes held by a session still in memory (0 if archived)
+     */
+    public synchronized long getRetainedBytes(String sessionId) {
+        Session session = sessions.get(sessionId);
+        return session != null ? session.retainedBytes() : 0;
+    }
+
+    /**
+     * Whether a session's data is still on the heap (false once archived)
+     */
+    public synchronized boolean isInMemory(String sessionId) {
+        return sessions.containsKey(sessionId);
+    }
+
+    /**
+     * Retained heap bytes of every session still in memory
+     */
+    public synchronized Map<String, Long> getRetainedBytesBySession() {
+        Map<String, Long> bytes = new LinkedHashMap<>();
+        for (Session session : sessions.values()) {
+            bytes.put(session.sessionId, session.retainedBytes());
+        }
+        return bytes;
+    }
+
+    /**
+     * Retained heap bytes of completed sessions (what the budget applies to)
+     */
+    public synchronized long getCompletedRetainedBytes() {
+        long total = 0;
+        for (Session session : sessions.values()) {
+            if (session.isCompleted()) {
+                total += session.retainedBytes();
+            }
+        }
+        return total;
+    }
+
+    public long getMemoryBudgetBytes() {
+        return memoryBudgetBytes;
+    }
+
+    /**
+     * Set the heap budget for completed sessions and archive down to it
+     */
+    public void setMemoryBudgetBytes(long bytes) {
+        this.memoryBudgetBytes = bytes;
+        enforceBudget();
+    }
+
+    public synchronized List<ArchivedSession> getArchivedSessions() {
+        return new ArrayList<>(archived);
+    }
+
+    /**
+     * Retention report for the server console
+     */
+    public synchronized String getRetentionReport() {
+        StringBuilder report = new StringBuilder();
+        report.append("\n╔════════════════════════════════════════╗\n");
+        report.append("║      Session Retention                 ║\n");
+        report.append("╠════════════════════════════════════════╣\n");
+        report.append(String.format("║ Memory Budget (KB): %-19d║%n", memoryBudgetBytes / 1024));
+        report.append(String.format("║ Sessions in Memory: %-19d║%n", sessions.size()));
+        for (Session session : sessions.values()) {
+            report.append(String.format("║  %-19s %8.1f KB %-6s║%n",
+                truncate(session.sessionId, 19), session.retainedBytes() / 1024.0,
+                session.isCompleted() ? "done" : "live"));
+        }
+        report.append(String.format("║ Sessions Archived: %-20d║%n", archived.size()));
+        report.append(String.format("║ Heap Freed (KB): %-22.1f║%n", totalFreedBytes / 1024.0));
+        report.append("╚════════════════════════════════════════╝\n");
+        return report.toString();
+    }
+
+    private static String truncate(String value, int max) {
+        return value.length() <= max ? value : value.substring(0, max);
+    }
+}
@@ -0,0 +1,112 @@
+package com.quizapp.score;
+
+import com.quizapp.score.ScoreManager.ClientScore;
+import java.util.*;
+
+/**
+ * Category Rankings - Member 4
+ * Per-category scores and leaderboards ("best at OSI Model")
+ *
+ * Network Concepts:
+ * - Multi-dimensional leaderboards
+ * - Incremental updates in the scoring commit
+ *
+ * Every participant has a score per category they have been scored in,
+ * and every category has its own OrderStatisticTreap, so category rank,
+ * leader and top-N are O(log n) without replaying answers.
+ *
+ * Not thread-safe on its own: ScoreManager calls it under its rank lock.
+ *
+ * @author Member 4
+ */
+public class CategoryRankings {
+
+    /**
+     * Scores and rank index of one category
+     */
+    private static final class Category {
+        final Map<String, ClientScore> scores = new HashMap<>();
+        final Map<String, RankEntry> entries = new HashMap<>();
+        final RankIndex index = new OrderStatisticTreap();
+    }
+
+    // Category name -> its ranking, in name order
+    private final Map<String, Category> categories = new TreeMap<>();
+
+    /**
+     * Add a scored answer to a client's category score and re-rank it
+     */
+    public void record(String category, String clientId, String clientName, int points, boolean isCorrect) {
+        Category ranking = categories.computeIfAbsent(category, k -> new Category());
+        ClientScore score = ranking.scores.computeIfAbsent(clientId, id -> new ClientScore(id, clientName));
+        score.addScore(points, isCorrect);
+
+        RankEntry previous = ranking.entries.get(clientId);
+        if (previous != null) {
+            ranking.index.remove(previous);
+        }
+        RankEntry entry = new RankEntry(score, score.getPacked());
+        ranking.entries.put(clientId, entry);
+        ranking.index.add(entry);
+    }
+
+    /**
+     * Drop a client from every category
+     */
+    public void remove(String clientId) {
+        for (Category ranking : categories.values()) {
+            RankEntry entry = ranking.entries.remove(clientId);
+            if (entry != null) {
+                ranking.index.remove(entry);
+                ranking.scores.remove(clientId);
+            }
+        }
+    }
+
+    public void clear() {
+        categories.clear();
+    }
+
+    public List<String> getCategories() {
+        return new ArrayList<>(categories.keySet());
+    }
+
+    /**
+     * Rank of a client within a category (1-based), or -1 if not scored there
+     */
+    public int rankOf(String category, String clientId) {
+        Category ranking = categories.get(category);
+        RankEntry entry = ranking != null ? ranking.entries.get(clientId) : null;
+        return entry != null ? ranking.index.rankOf(entry) : -1;
+    }
+
+    /**
+     * Best n entries of a category, best first
+     */
+    public List<RankEntry> top(String category, int n) {
+        Category ranking = categories.get(category);
+        return ranking != null ? ranking.index.range(1, n) : Collections.emptyList();
+    }
+
+    /**
+     * A client's score vector: category -> its entry there, in category order
+     */
+    public Map<String, RankEntry> entriesOf(String clientId) {
+        Map<String, RankEntry> vector = new LinkedHashMap<>();
+        for (Map.Entry<String, Category> category : categories.entrySet()) {
+            RankEntry entry = category.getValue().entries.get(clientId);
+            if (entry != null) {
+                vector.put(category.getKey(), entry);
+            }
+        }
+        return vector;
+    }
+
+    /**
+     * Number of participants scored in a category
+     */
+    public int size(String category) {
+        Category ranking = categories.get(category);
+        return ranking != null ? ranking.index.size() : 0;
+    }
+}
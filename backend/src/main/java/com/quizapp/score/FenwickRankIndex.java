@@ -0,0 +1,167 @@
+package com.quizapp.score;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Fenwick Rank Index - Member 4
+ * Rank index for scores known to lie in a small integer range.
+ *
+ * A Fenwick (binary indexed) tree counts players per score value, with
+ * higher scores first, so "how many players score more than s" is a
+ * prefix sum in O(log range). Players with the same score are ordered
+ * inside their bucket by a small OrderStatisticTreap (accuracy, then
+ * name), which is only ever as large as one tie group.
+ *
+ * Memory is one int per possible score plus the tie groups, fixed when
+ * the quiz starts. Use supportsScore() before adding: scores outside the
+ * range cannot be stored.
+ *
+ * @author Member 4
+ */
+public class FenwickRankIndex implements RankIndex {
+    private final int minScore;
+    private final int maxScore;
+    private final int[] tree;                 // 1-based; slot i is score maxScore - i + 1
+    private final OrderStatisticTreap[] buckets;
+    private int size;
+
+    public FenwickRankIndex(int minScore, int maxScore) {
+        if (maxScore < minScore) {
+            throw new IllegalArgumentException("Empty score range: " + minScore + ".." + maxScore);
+        }
+        this.minScore = minScore;
+        this.maxScore = maxScore;
+        int slots = maxScore - minScore + 1;
+        this.tree = new int[slots + 1];
+        this.buckets = new OrderStatisticTreap[slots + 1];
+        this.size = 0;
+    }
+
+    @Override
+    public void add(RankEntry entry) {
+        int slot = slotOf(entry.getTotalScore());
+        OrderStatisticTreap bucket = buckets[slot];
+        if (bucket == null) {
+            bucket = new OrderStatisticTreap();
+            buckets[slot] = bucket;
+        }
+        bucket.add(entry);
+        adjust(slot, 1);
+        size++;
+    }
+
+    @Override
+    public void remove(RankEntry entry) {
+        if (entry == null || !supportsScore(entry.getTotalScore())) {
+            return;
+        }
+        int slot = slotOf(entry.getTotalScore());
+        OrderStatisticTreap bucket = buckets[slot];
+        if (bucket == null) {
+            return;
+        }
+        int before = bucket.size();
+        bucket.remove(entry);
+        if (bucket.size() < before) {
+            adjust(slot, -1);
+            size--;
+        }
+    }
+
+    @Override
+    public int rankOf(RankEntry entry) {
+        if (entry == null || !supportsScore(entry.getTotalScore())) {
+            return -1;
+        }
+        int slot = slotOf(entry.getTotalScore());
+        OrderStatisticTreap bucket = buckets[slot];
+        int inBucket = bucket != null ? bucket.rankOf(entry) : -1;
+        return inBucket < 0 ? -1 : prefix(slot - 1) + inBucket;
+    }
+
+    @Override
+    public RankEntry entryAt(int rank) {
+        if (rank < 1 || rank > size) {
+            return null;
+        }
+        int slot = slotOfRank(rank);
+        return buckets[slot].entryAt(rank - prefix(slot - 1));
+    }
+
+    @Override
+    public List<RankEntry> range(int fromRank, int count) {
+        int rank = Math.max(1, fromRank);
+        int last = Math.min(size, fromRank - 1 + count);
+        List<RankEntry> entries = new ArrayList<>(Math.max(0, last - rank + 1));
+        while (rank <= last) {
+            // Take what is needed from the bucket holding this rank, then move on
+            int slot = slotOfRank(rank);
+            int first = rank - prefix(slot - 1);
+            List<RankEntry> part = buckets[slot].range(first, last - rank + 1);
+            entries.addAll(part);
+            rank += part.size();
+        }
+        return entries;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(tree, 0);
+        Arrays.fill(buckets, null);
+        size = 0;
+    }
+
+    @Override
+    public boolean supportsScore(int score) {
+        return score >= minScore && score <= maxScore;
+    }
+
+    @Override
+    public String getName() {
+        return "Fenwick tree (" + minScore + ".." + maxScore + ")";
+    }
+
+    private int slotOf(int score) {
+        return maxScore - score + 1;
+    }
+
+    private void adjust(int slot, int delta) {
+        for (int i = slot; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * Players in slots 1..slot (scores of at least maxScore - slot + 1)
+     */
+    private int prefix(int slot) {
+        int sum = 0;
+        for (int i = slot; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Smallest slot whose prefix count reaches rank (binary lifting)
+     */
+    private int slotOfRank(int rank) {
+        int slot = 0;
+        int remaining = rank;
+        for (int step = Integer.highestOneBit(tree.length - 1); step > 0; step >>>= 1) {
+            int next = slot + step;
+            if (next < tree.length && tree[next] < remaining) {
+                slot = next;
+                remaining -= tree[next];
+            }
+        }
+        return slot + 1;
+    }
+}
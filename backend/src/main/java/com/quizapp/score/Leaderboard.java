@@ -12,6 +12,9 @@ import java.util.*;
  * - Broadcast messaging
  * - Data formatting for transmission
  * 
+ * Renderings are cached on the ScoreManager's LeaderboardSnapshot, so
+ * they are only rebuilt after the scores change.
+ * 
  * @author Member 4
  */
 public class Leaderboard {
@@ -32,7 +35,11 @@ public class Leaderboard {
      * Generate leaderboard display
      */
     public String generateLeaderboard() {
-        List<ClientScore> sortedScores = scoreManager.getSortedScores();
+        return scoreManager.getSnapshot().render("table:" + displayLimit, this::renderLeaderboard);
+    }
+    
+    private String renderLeaderboard(LeaderboardSnapshot snapshot) {
+        List<ClientScore> sortedScores = snapshot.getTop(displayLimit);
         
         if (sortedScores.isEmpty()) {
             return "\n╔════════════════════════════════════════╗\n" +
@@ -73,7 +80,11 @@ public class Leaderboard {
      * Format: LEADERBOARD|Name1:Score1|Name2:Score2|...
      */
     public String generateCompactLeaderboard() {
-        List<ClientScore> sortedScores = scoreManager.getSortedScores();
+        return scoreManager.getSnapshot().render("compact:" + displayLimit, this::renderCompactLeaderboard);
+    }
+    
+    private String renderCompactLeaderboard(LeaderboardSnapshot snapshot) {
+        List<ClientScore> sortedScores = snapshot.getTop(displayLimit);
         
         StringBuilder compact = new StringBuilder("LEADERBOARD");
         int limit = Math.min(displayLimit, sortedScores.size());
@@ -93,7 +104,11 @@ public class Leaderboard {
      * Generate top 3 display
      */
     public String generateTop3() {
-        List<ClientScore> top3 = scoreManager.getTopScorers(3);
+        return scoreManager.getSnapshot().render("top3", this::renderTop3);
+    }
+    
+    private String renderTop3(LeaderboardSnapshot snapshot) {
+        List<ClientScore> top3 = snapshot.getTop(3);
         
         if (top3.isEmpty()) {
             return "No scores available";
@@ -138,6 +153,36 @@ public class Leaderboard {
         return display.toString();
     }
     
+    /**
+     * Generate the best player of every question category
+     */
+    public String generateCategoryLeaders() {
+        List<String> categories = scoreManager.getCategories();
+        if (categories.isEmpty()) {
+            return "No category scores available";
+        }
+        
+        StringBuilder display = new StringBuilder();
+        display.append("\n╔════════════════════════════════════════╗\n");
+        display.append("║           Category Leaders             ║\n");
+        display.append("╠════════════════════════════════════════╣\n");
+        
+        for (String category : categories) {
+            ClientScore leader = scoreManager.getCategoryLeader(category);
+            if (leader != null) {
+                display.append(String.format("║ %-16s %-14s %6d ║%n",
+                    truncate(category, 16),
+                    truncate(leader.getClientName(), 14),
+                    leader.getTotalScore()
+                ));
+            }
+        }
+        
+        display.append("╚════════════════════════════════════════╝\n");
+        
+        return display.toString();
+    }
+    
     /**
      * Generate mini leaderboard for specific client
      */
@@ -148,25 +193,27 @@ public class Leaderboard {
         }
         
         int rank = scoreManager.getRank(clientId);
-        List<ClientScore> allScores = scoreManager.getSortedScores();
-        
+        return renderPersonalRanking(scoreManager.getScoresAroundRank(rank, 1), Math.max(1, rank - 1), clientId);
+    }
+    
+    /**
+     * Mini leaderboard from a window of ranked scores whose first entry has
+     * rank firstRank (1 before the client, the client, 1 after)
+     */
+    public String renderPersonalRanking(List<ClientScore> nearby, int firstRank, String clientId) {
         StringBuilder display = new StringBuilder();
         display.append("\n╔════════════════════════════════════════╗\n");
         display.append("║      Your Ranking & Nearby Players     ║\n");
         display.append("╠════════════════════════════════════════╣\n");
         
-        // Show nearby players (1 before, current, 1 after)
-        int start = Math.max(0, rank - 2);
-        int end = Math.min(allScores.size(), rank + 1);
-        
-        for (int i = start; i < end; i++) {
-            ClientScore score = allScores.get(i);
+        for (int i = 0; i < nearby.size(); i++) {
+            ClientScore score = nearby.get(i);
             boolean isCurrent = score.getClientId().equals(clientId);
             String marker = isCurrent ? "►" : " ";
             
             display.append(String.format("║ %s #%-2d %-20s %6d pts ║%n",
                 marker,
-                i + 1,
+                firstRank + i,
                 truncate(score.getClientName(), 20),
                 score.getTotalScore()
             ));
@@ -0,0 +1,136 @@
+package com.quizapp.score;
+
+import com.quizapp.score.ScoreManager.ClientScore;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Leaderboard Delta - Member 4
+ * What changed between two leaderboard snapshots
+ *
+ * Network Concepts:
+ * - Delta encoding
+ * - Personalized push messages
+ *
+ * - Top rows: ranks 1..N whose player or score differ from the base
+ * - Personal changes: players whose own rank or score changed
+ *
+ * Frames:
+ *   LEADERBOARD_DELTA|version|baseVersion|size|rank:name:score|...
+ *   RANK|rank|participants|score
+ *
+ * A receiver keeps the top N rows it was sent and overwrites the changed
+ * ranks; size tells it how many players are ranked in total.
+ *
+ * @author Member 4
+ */
+public final class LeaderboardDelta {
+    private final LeaderboardSnapshot base;      // null: nothing sent before, delta is everything
+    private final LeaderboardSnapshot snapshot;
+    private final int topN;
+    private final int[] changedRanks;
+
+    private LeaderboardDelta(LeaderboardSnapshot base, LeaderboardSnapshot snapshot, int topN) {
+        this.base = base;
+        this.snapshot = snapshot;
+        this.topN = topN;
+
+        List<ClientScore> top = snapshot.getTop(topN);
+        List<ClientScore> baseTop = base != null ? base.getTop(topN) : new ArrayList<>();
+        int[] changed = new int[top.size()];
+        int count = 0;
+        for (int i = 0; i < top.size(); i++) {
+            if (i >= baseTop.size() || !sameRow(top.get(i), baseTop.get(i))) {
+                changed[count++] = i + 1;
+            }
+        }
+        this.changedRanks = Arrays.copyOf(changed, count);
+    }
+
+    /**
+     * Changes from base (null for "everything") to snapshot, top rows limited to topN
+     */
+    public static LeaderboardDelta between(LeaderboardSnapshot base, LeaderboardSnapshot snapshot, int topN) {
+        return new LeaderboardDelta(base, snapshot, topN);
+    }
+
+    /**
+     * Whether there is no base, so receivers need the full leaderboard
+     */
+    public boolean isFull() {
+        return base == null;
+    }
+
+    /**
+     * Whether the top rows or the number of ranked players changed
+     */
+    public boolean hasTopChanges() {
+        return changedRanks.length > 0 || base == null || base.size() != snapshot.size();
+    }
+
+    /**
+     * 1-based ranks in the top N whose row changed
+     */
+    public int[] getChangedRanks() {
+        return changedRanks;
+    }
+
+    public LeaderboardSnapshot getSnapshot() { return snapshot; }
+    public long getBaseVersion() { return base != null ? base.getVersion() : -1; }
+
+    /**
+     * Text frame with the changed top rows
+     */
+    public String formatTopFrame() {
+        StringBuilder frame = new StringBuilder("LEADERBOARD_DELTA|")
+            .append(snapshot.getVersion()).append('|')
+            .append(getBaseVersion()).append('|')
+            .append(snapshot.size());
+        for (int rank : changedRanks) {
+            ClientScore score = snapshot.getScores().get(rank - 1);
+            frame.append('|').append(rank)
+                .append(':').append(score.getClientName())
+                .append(':').append(score.getTotalScore());
+        }
+        return frame.toString();
+    }
+
+    /**
+     * Call back for every player whose rank or score changed since the base
+     * (every player when there is no base), walking the snapshot once
+     */
+    public void forEachPersonalChange(PersonalChange callback) {
+        List<ClientScore> scores = snapshot.getScores();
+        for (int i = 0; i < scores.size(); i++) {
+            ClientScore score = scores.get(i);
+            int rank = i + 1;
+            if (base != null) {
+                int baseRank = base.rankOf(score.getClientId());
+                if (baseRank == rank
+                        && base.getScores().get(baseRank - 1).getTotalScore() == score.getTotalScore()) {
+                    continue; // unchanged
+                }
+            }
+            callback.changed(score, rank, scores.size());
+        }
+    }
+
+    /**
+     * Text frame with one player's rank and score
+     */
+    public static String formatRankFrame(int rank, int participants, int score) {
+        return "RANK|" + rank + "|" + participants + "|" + score;
+    }
+
+    private static boolean sameRow(ClientScore a, ClientScore b) {
+        return a.getClientId().equals(b.getClientId()) && a.getTotalScore() == b.getTotalScore();
+    }
+
+    /**
+     * Receiver of personal rank changes
+     */
+    public interface PersonalChange {
+        void changed(ClientScore score, int rank, int participants);
+    }
+}
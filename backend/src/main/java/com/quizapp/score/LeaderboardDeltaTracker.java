@@ -0,0 +1,104 @@
+package com.quizapp.score;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Leaderboard Delta Tracker - Member 4
+ * Remembers the last leaderboard snapshot sent to one audience, so the
+ * next broadcast only carries what changed, and counts the bytes this saves.
+ *
+ * Receivers that joined after the last full leaderboard are not synced yet:
+ * markSynced() tells the sender to give them the full frame once.
+ *
+ * @author Member 4
+ */
+public class LeaderboardDeltaTracker {
+    private final int topN;
+    private LeaderboardSnapshot lastSent;
+    private final Set<String> synced;
+    private long bytesSent;
+    private long bytesFull;
+    private long lastBytesSent;
+    private long lastBytesFull;
+
+    public LeaderboardDeltaTracker(int topN) {
+        this.topN = topN;
+        this.synced = ConcurrentHashMap.newKeySet();
+    }
+
+    /**
+     * Changes since the last snapshot sent; the given snapshot becomes the base
+     */
+    public synchronized LeaderboardDelta next(LeaderboardSnapshot snapshot) {
+        LeaderboardDelta delta = LeaderboardDelta.between(lastSent, snapshot, topN);
+        if (delta.isFull()) {
+            synced.clear(); // everybody gets the full leaderboard this time
+        }
+        lastSent = snapshot;
+        return delta;
+    }
+
+    /**
+     * Mark a receiver as holding the full leaderboard; true if it did not
+     * before (so it must be sent the full frame now)
+     */
+    public boolean markSynced(String receiverId) {
+        return synced.add(receiverId);
+    }
+
+    /**
+     * Forget a receiver (disconnected); it gets a full frame if it returns
+     */
+    public void forget(String receiverId) {
+        synced.remove(receiverId);
+    }
+
+    /**
+     * Start over: the next broadcast is a full leaderboard for everyone
+     */
+    public synchronized void reset() {
+        lastSent = null;
+        synced.clear();
+    }
+
+    /**
+     * Record one broadcast: bytes actually sent and bytes a full broadcast would have taken
+     */
+    public synchronized void recordBroadcast(long sent, long full) {
+        lastBytesSent = sent;
+        lastBytesFull = full;
+        bytesSent += sent;
+        bytesFull += full;
+    }
+
+    public synchronized long getBytesSaved() { return bytesFull - bytesSent; }
+    public synchronized long getLastBytesSaved() { return lastBytesFull - lastBytesSent; }
+    public synchronized long getBytesSent() { return bytesSent; }
+
+    public synchronized String getSummary() {
+        return String.format("Leaderboard: sent %d B (full would be %d B, saved %d B); total saved %.1f KB",
+            lastBytesSent, lastBytesFull, lastBytesFull - lastBytesSent, (bytesFull - bytesSent) / 1024.0);
+    }
+
+    /**
+     * Bytes of a frame on the wire (UTF-8), without building the byte array
+     */
+    public static int utf8Length(String text) {
+        int bytes = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                bytes += 1;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c)) {
+                bytes += 4;
+                i++; // low surrogate is part of the same code point
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+}
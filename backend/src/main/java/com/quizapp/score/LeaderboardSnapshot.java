@@ -0,0 +1,80 @@
+package com.quizapp.score;
+
+import com.quizapp.score.ScoreManager.ClientScore;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Leaderboard Snapshot - Member 4
+ * Immutable, sorted view of every score at one version of the ScoreManager
+ *
+ * Network Concepts:
+ * - Versioned state for broadcast
+ * - Render once, send many times
+ *
+ * A new snapshot is published after each scoring commit. Every rendering
+ * (console table, compact wire frame, admin JSON, ...) is built at most
+ * once per snapshot and cached under a key, so asking for the same
+ * leaderboard again before the scores change costs a map lookup.
+ *
+ * @author Member 4
+ */
+public final class LeaderboardSnapshot {
+    private final long version;
+    private final long createdAt;
+    private final List<ClientScore> scores;
+    private final Map<String, String> renderings;
+    private volatile Map<String, Integer> ranks; // clientId -> 1-based rank, built on first use
+
+    LeaderboardSnapshot(long version, List<ClientScore> scores) {
+        this.version = version;
+        this.createdAt = System.currentTimeMillis();
+        this.scores = Collections.unmodifiableList(scores);
+        this.renderings = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Rendering cached under key, built by renderer on first use
+     */
+    public String render(String key, Function<LeaderboardSnapshot, String> renderer) {
+        String cached = renderings.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        return renderings.computeIfAbsent(key, k -> renderer.apply(this));
+    }
+
+    /**
+     * Top n scores (a view, no copy)
+     */
+    public List<ClientScore> getTop(int n) {
+        return scores.subList(0, Math.max(0, Math.min(n, scores.size())));
+    }
+
+    /**
+     * 1-based rank of a client in this snapshot, or -1 if not in it
+     */
+    public int rankOf(String clientId) {
+        Map<String, Integer> byId = ranks;
+        if (byId == null) {
+            byId = new HashMap<>(scores.size() * 2);
+            for (int i = 0; i < scores.size(); i++) {
+                byId.put(scores.get(i).getClientId(), i + 1);
+            }
+            ranks = byId;
+        }
+        Integer rank = byId.get(clientId);
+        return rank != null ? rank : -1;
+    }
+
+    public long getVersion() { return version; }
+    public long getCreatedAt() { return createdAt; }
+    public List<ClientScore> getScores() { return scores; }
+    public int size() { return scores.size(); }
+    public boolean isEmpty() { return scores.isEmpty(); }
+    public int getRenderingCount() { return renderings.size(); }
+}
@@ -0,0 +1,200 @@
+package com.quizapp.score;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Order-Statistic Treap - Member 4
+ * Balanced search tree of RankEntry with subtree sizes, so an entry's
+ * rank and the entry at a rank are both found in O(log n).
+ *
+ * A treap keeps balance with random priorities: it is a search tree by
+ * entry and a heap by priority. Insert and remove split and merge at
+ * the entry's position.
+ *
+ * @author Member 4
+ */
+public class OrderStatisticTreap implements RankIndex {
+    private static final class Node {
+        final RankEntry entry;
+        final int priority;
+        int size;
+        Node left;
+        Node right;
+
+        Node(RankEntry entry, int priority) {
+            this.entry = entry;
+            this.priority = priority;
+            this.size = 1;
+        }
+    }
+
+    private Node root;
+    private int seed;
+
+    public OrderStatisticTreap() {
+        this.seed = (int) System.nanoTime() | 1;
+    }
+
+    @Override
+    public void add(RankEntry entry) {
+        Node[] parts = split(root, entry);
+        root = merge(merge(parts[0], new Node(entry, nextPriority())), parts[1]);
+    }
+
+    @Override
+    public void remove(RankEntry entry) {
+        root = remove(root, entry);
+    }
+
+    @Override
+    public int rankOf(RankEntry entry) {
+        int before = 0;
+        Node node = root;
+        while (node != null) {
+            int compare = entry.compareTo(node.entry);
+            if (compare < 0) {
+                node = node.left;
+            } else if (compare > 0) {
+                before += size(node.left) + 1;
+                node = node.right;
+            } else {
+                return before + size(node.left) + 1;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public RankEntry entryAt(int rank) {
+        if (rank < 1 || rank > size(root)) {
+            return null;
+        }
+        int index = rank - 1;
+        Node node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index > leftSize) {
+                index -= leftSize + 1;
+                node = node.right;
+            } else {
+                return node.entry;
+            }
+        }
+    }
+
+    @Override
+    public List<RankEntry> range(int fromRank, int count) {
+        int from = Math.max(1, fromRank) - 1;
+        int to = Math.min(size(root), fromRank - 1 + count);
+        List<RankEntry> entries = new ArrayList<>(Math.max(0, to - from));
+        collect(root, 0, from, to, entries);
+        return entries;
+    }
+
+    @Override
+    public int size() {
+        return size(root);
+    }
+
+    @Override
+    public void clear() {
+        root = null;
+    }
+
+    @Override
+    public String getName() {
+        return "Order-statistic treap";
+    }
+
+    /**
+     * In-order walk of [from, to) that skips subtrees outside the range
+     */
+    private static void collect(Node node, int offset, int from, int to, List<RankEntry> out) {
+        while (node != null && offset < to) {
+            int index = offset + size(node.left);
+            if (from < index) {
+                collect(node.left, offset, from, to, out);
+            }
+            if (index >= from && index < to) {
+                out.add(node.entry);
+            }
+            offset = index + 1;
+            node = node.right;
+        }
+    }
+
+    /**
+     * Split into (entries ordered before key, the rest)
+     */
+    private static Node[] split(Node node, RankEntry key) {
+        if (node == null) {
+            return new Node[2];
+        }
+        if (node.entry.compareTo(key) < 0) {
+            Node[] parts = split(node.right, key);
+            node.right = parts[0];
+            update(node);
+            parts[0] = node;
+            return parts;
+        } else {
+            Node[] parts = split(node.left, key);
+            node.left = parts[1];
+            update(node);
+            parts[1] = node;
+            return parts;
+        }
+    }
+
+    /**
+     * Merge two treaps where every entry of a orders before every entry of b
+     */
+    private static Node merge(Node a, Node b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        if (a.priority > b.priority) {
+            a.right = merge(a.right, b);
+            update(a);
+            return a;
+        } else {
+            b.left = merge(a, b.left);
+            update(b);
+            return b;
+        }
+    }
+
+    private static Node remove(Node node, RankEntry entry) {
+        if (node == null) {
+            return null;
+        }
+        int compare = entry.compareTo(node.entry);
+        if (compare == 0) {
+            return merge(node.left, node.right);
+        }
+        if (compare < 0) {
+            node.left = remove(node.left, entry);
+        } else {
+            node.right = remove(node.right, entry);
+        }
+        update(node);
+        return node;
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static void update(Node node) {
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+
+    private int nextPriority() {
+        // xorshift: cheap, and good enough to keep the tree balanced
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+        return seed;
+    }
+}
@@ -0,0 +1,74 @@
+package com.quizapp.score;
+
+import com.quizapp.score.ScoreManager.ClientScore;
+
+/**
+ * Rank Entry - Member 4
+ * Immutable snapshot of a player's score, ordered like the leaderboard:
+ * score (descending), then accuracy (descending), then name, then client ID.
+ *
+ * Score and accuracy are folded into one sort key when the entry is made,
+ * so most comparisons are a single long compare with no division:
+ *
+ *   key = score << 33 | floor(correct * 2^32 / attempted)
+ *
+ * Counts are at most 65535, so two different accuracies differ by at least
+ * 1/2^32 and never share a floor: the order is exact. Scores beyond ±2^30
+ * are clamped in the key and compared directly when keys tie.
+ *
+ * @author Member 4
+ */
+public final class RankEntry implements Comparable<RankEntry> {
+    private final ClientScore owner;
+    private final int totalScore;
+    private final int correctAnswers;
+    private final int questionsAttempted;
+    private final long sortKey;
+
+    RankEntry(ClientScore owner, long packed) {
+        this.owner = owner;
+        this.totalScore = ClientScore.scoreOf(packed);
+        this.correctAnswers = ClientScore.correctOf(packed);
+        this.questionsAttempted = ClientScore.attemptedOf(packed);
+        this.sortKey = sortKey(totalScore, correctAnswers, questionsAttempted);
+    }
+
+    /**
+     * Higher key ranks higher: score first, then accuracy
+     */
+    static long sortKey(int score, int correct, int attempted) {
+        long clamped = Math.max(-(1L << 30), Math.min((1L << 30) - 1, score));
+        long accuracy = attempted > 0 ? ((long) correct << 32) / attempted : 0;
+        return (clamped << 33) | accuracy;
+    }
+
+    @Override
+    public int compareTo(RankEntry other) {
+        if (sortKey != other.sortKey) {
+            return sortKey > other.sortKey ? -1 : 1;
+        }
+        if (totalScore != other.totalScore) {
+            return totalScore > other.totalScore ? -1 : 1; // both clamped
+        }
+        int nameCompare = owner.getClientName().compareTo(other.owner.getClientName());
+        if (nameCompare != 0) {
+            return nameCompare;
+        }
+        return owner.getClientId().compareTo(other.owner.getClientId());
+    }
+
+    public ClientScore getOwner() { return owner; }
+
+    /**
+     * Detached copy of the owner in the state this entry was ranked with
+     */
+    public ClientScore toScore() {
+        return new ClientScore(owner, ClientScore.pack(totalScore, correctAnswers, questionsAttempted));
+    }
+    public String getClientId() { return owner.getClientId(); }
+    public String getClientName() { return owner.getClientName(); }
+    public int getTotalScore() { return totalScore; }
+    public int getCorrectAnswers() { return correctAnswers; }
+    public int getQuestionsAttempted() { return questionsAttempted; }
+    public long getSortKey() { return sortKey; }
+}
@@ -0,0 +1,58 @@
+package com.quizapp.score;
+
+import java.util.List;
+
+/**
+ * Rank Index - Member 4
+ * Keeps players in leaderboard order so rank, top-K and "players around
+ * rank r" queries do not need to sort every score.
+ *
+ * Implementations are not thread-safe; ScoreManager guards its index
+ * with the same lock it uses to change scores.
+ *
+ * @author Member 4
+ */
+public interface RankIndex {
+    /**
+     * Add an entry (entries are immutable; a changed score is removed
+     * with its old entry and added with a new one)
+     */
+    void add(RankEntry entry);
+
+    /**
+     * Remove an entry previously added
+     */
+    void remove(RankEntry entry);
+
+    /**
+     * 1-based rank of an entry, or -1 if it is not in the index
+     */
+    int rankOf(RankEntry entry);
+
+    /**
+     * Entry at a 1-based rank, or null if out of range
+     */
+    RankEntry entryAt(int rank);
+
+    /**
+     * Up to count entries in rank order, starting at a 1-based rank
+     */
+    List<RankEntry> range(int fromRank, int count);
+
+    int size();
+
+    void clear();
+
+    /**
+     * Whether an entry with this total score can be stored (bounded
+     * indexes only cover the score range they were built for)
+     */
+    default boolean supportsScore(int score) {
+        return true;
+    }
+
+    /**
+     * Short name shown in reports
+     */
+    String getName();
+}
@@ -1,5 +1,8 @@
 package com.quizapp.score;
 
+import com.quizapp.answer.AnswerJournal;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -12,69 +15,164 @@ import java.util.concurrent.ConcurrentHashMap;
  * - Real-time score updates
  * - Concurrent access management
  * 
+ * Registrations and score updates are appended to an AnswerJournal
+ * when one is attached, so scores survive a server crash.
+ * 
+ * Players are kept in leaderboard order in a RankIndex, updated with
+ * every score change, so rank, top-K and "players around me" take
+ * O(log n) instead of sorting every score per call. When the quiz plan
+ * bounds the possible scores, a FenwickRankIndex over the score range
+ * is used; otherwise an OrderStatisticTreap. The best TOP_K players
+ * are also kept in a TopKTracker, so the winner and top scorers are read
+ * without taking the rank lock.
+ * 
+ * Score updates that name the question's category also go into
+ * CategoryRankings in the same commit, for per-category leaderboards.
+ * 
+ * Every change bumps a version number. publishSnapshot() (called after
+ * each scoring commit) freezes the ranking into a LeaderboardSnapshot,
+ * whose renderings are cached until the next version.
+ * 
  * @author Member 4
  */
 public class ScoreManager {
     // Map: ClientID -> ClientScore
     private Map<String, ClientScore> clientScores;
     private Map<String, String> clientNames; // ClientID -> Name
+    private volatile AnswerJournal journal;
+    private static final int MAX_FENWICK_RANGE = 1 << 20; // about 4 MB of counters
+    private static final int TOP_K = 10;                  // default leaderboard display limit
+    public static final int MAX_NAME_LENGTH = 32;         // longest display name servers accept
+    
+    private RankIndex rankIndex;
+    private final Object rankLock = new Object(); // guards rankIndex and score changes
+    private volatile long version;                // bumped under rankLock on every change
+    private volatile LeaderboardSnapshot snapshot;
+    private final TopKTracker topScores;           // updated under rankLock
+    private final CategoryRankings categoryRankings; // guarded by rankLock
     
     public ScoreManager() {
         this.clientScores = new ConcurrentHashMap<>();
         this.clientNames = new ConcurrentHashMap<>();
+        this.rankIndex = new OrderStatisticTreap();
+        this.topScores = new TopKTracker(TOP_K);
+        this.categoryRankings = new CategoryRankings();
     }
     
     /**
-     * Inner class to track individual client score
+     * Inner class to track individual client score.
+     * 
+     * Score, correct count and attempted count are packed into one 64-bit
+     * word (score << 32 | correct << 16 | attempted) and updated with a
+     * compare-and-set, so updates from many threads are never lost and a
+     * reader always sees a consistent triple. Wrong answers are
+     * attempted - correct.
      */
     public static class ClientScore {
-        private String clientId;
-        private String clientName;
-        private int totalScore;
-        private int correctAnswers;
-        private int wrongAnswers;
-        private int questionsAttempted;
-        private long lastUpdateTime;
+        private static final VarHandle PACKED;
+        private static final VarHandle STREAK;
+        static {
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.lookup();
+                PACKED = lookup.findVarHandle(ClientScore.class, "packed", long.class);
+                STREAK = lookup.findVarHandle(ClientScore.class, "currentStreak", int.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+        private static final int COUNT_MASK = 0xFFFF;
+        
+        private final String clientId;
+        private final String clientName;
+        private volatile long packed;
+        private volatile int currentStreak;     // correct answers in a row
+        private volatile long lastUpdateTime;
+        private RankEntry rankEntry; // this score's entry in the rank index (guarded by rankLock)
         
         public ClientScore(String clientId, String clientName) {
             this.clientId = clientId;
             this.clientName = clientName;
-            this.totalScore = 0;
-            this.correctAnswers = 0;
-            this.wrongAnswers = 0;
-            this.questionsAttempted = 0;
+            this.packed = 0;
+            this.currentStreak = 0;
             this.lastUpdateTime = System.currentTimeMillis();
         }
         
-        public void addScore(int points, boolean isCorrect) {
-            this.totalScore += points;
+        /**
+         * Detached copy holding one consistent state (not updated afterwards)
+         */
+        ClientScore(ClientScore source, long packed) {
+            this.clientId = source.clientId;
+            this.clientName = source.clientName;
+            this.packed = packed;
+            this.currentStreak = source.currentStreak;
+            this.lastUpdateTime = source.lastUpdateTime;
+        }
+        
+        /**
+         * Add the result of one question; returns the new packed state
+         */
+        public long addScore(int points, boolean isCorrect) {
+            long current;
+            long next;
+            do {
+                current = packed;
+                next = pack(scoreOf(current) + points,
+                    correctOf(current) + (isCorrect ? 1 : 0),
+                    attemptedOf(current) + 1);
+            } while (!PACKED.compareAndSet(this, current, next));
+            
             if (isCorrect) {
-                this.correctAnswers++;
+                STREAK.getAndAdd(this, 1);
             } else {
-                this.wrongAnswers++;
+                currentStreak = 0;
             }
-            this.questionsAttempted++;
             this.lastUpdateTime = System.currentTimeMillis();
+            return next;
+        }
+        
+        /**
+         * Copy of this score as one consistent state
+         */
+        public ClientScore snapshot() {
+            return new ClientScore(this, packed);
         }
         
         public double getAccuracy() {
-            if (questionsAttempted == 0) return 0.0;
-            return (correctAnswers * 100.0) / questionsAttempted;
+            long state = packed;
+            if (attemptedOf(state) == 0) return 0.0;
+            return (correctOf(state) * 100.0) / attemptedOf(state);
         }
         
         // Getters
         public String getClientId() { return clientId; }
         public String getClientName() { return clientName; }
-        public int getTotalScore() { return totalScore; }
-        public int getCorrectAnswers() { return correctAnswers; }
-        public int getWrongAnswers() { return wrongAnswers; }
-        public int getQuestionsAttempted() { return questionsAttempted; }
+        public int getTotalScore() { return scoreOf(packed); }
+        public int getCorrectAnswers() { return correctOf(packed); }
+        public int getWrongAnswers() {
+            long state = packed;
+            return attemptedOf(state) - correctOf(state);
+        }
+        public int getQuestionsAttempted() { return attemptedOf(packed); }
+        public int getCurrentStreak() { return currentStreak; }
         public long getLastUpdateTime() { return lastUpdateTime; }
+        long getPacked() { return packed; }
+        
+        static long pack(int score, int correct, int attempted) {
+            // Counts saturate at 65535 rather than spill into the next field
+            return ((long) score << 32)
+                | ((long) Math.min(correct, COUNT_MASK) << 16)
+                | Math.min(attempted, COUNT_MASK);
+        }
+        
+        static int scoreOf(long state) { return (int) (state >> 32); }
+        static int correctOf(long state) { return (int) (state >>> 16) & COUNT_MASK; }
+        static int attemptedOf(long state) { return (int) state & COUNT_MASK; }
         
         @Override
         public String toString() {
+            long state = packed;
             return String.format("%s: %d points (%d/%d correct)", 
-                clientName, totalScore, correctAnswers, questionsAttempted);
+                clientName, scoreOf(state), correctOf(state), attemptedOf(state));
         }
     }
     
@@ -83,7 +181,16 @@ public class ScoreManager {
      */
     public void registerClient(String clientId, String clientName) {
         clientNames.put(clientId, clientName);
-        clientScores.putIfAbsent(clientId, new ClientScore(clientId, clientName));
+        synchronized (rankLock) {
+            ClientScore score = new ClientScore(clientId, clientName);
+            if (clientScores.putIfAbsent(clientId, score) == null) {
+                index(score);
+            }
+        }
+        AnswerJournal journal = this.journal;
+        if (journal != null) {
+            journal.logRegister(clientId, clientName);
+        }
         System.out.println("✓ Registered client for scoring: " + clientName);
     }
     
@@ -91,16 +198,42 @@ public class ScoreManager {
      * Update score for a client
      */
     public void updateScore(String clientId, int points, boolean isCorrect) {
+        updateScore(clientId, points, isCorrect, null);
+    }
+    
+    /**
+     * Update score for a client, also counting it toward a category (null for none)
+     */
+    public void updateScore(String clientId, int points, boolean isCorrect, String category) {
         ClientScore score = clientScores.get(clientId);
         if (score != null) {
+            // The score itself is updated lock-free; the rank index follows under its lock
             score.addScore(points, isCorrect);
-            System.out.println(String.format("📊 Score updated: %s now has %d points",
-                score.getClientName(), score.getTotalScore()));
+            synchronized (rankLock) {
+                if (clientScores.get(clientId) == score) {
+                    rankIndex.remove(score.rankEntry);
+                    index(score);
+                    if (category != null) {
+                        categoryRankings.record(category, clientId, score.getClientName(), points, isCorrect);
+                    }
+                }
+            }
+            AnswerJournal journal = this.journal;
+            if (journal != null) {
+                journal.logScore(clientId, points, isCorrect, category);
+            }
         } else {
             System.err.println("⚠ Cannot update score for unregistered client: " + clientId);
         }
     }
     
+    /**
+     * Journal registrations and score updates from now on (null to stop journaling)
+     */
+    public void setJournal(AnswerJournal journal) {
+        this.journal = journal;
+    }
+    
     /**
      * Get score for a client
      */
@@ -108,6 +241,14 @@ public class ScoreManager {
         return clientScores.get(clientId);
     }
     
+    /**
+     * Get the number of correct answers in a row a client currently has
+     */
+    public int getCurrentStreak(String clientId) {
+        ClientScore score = clientScores.get(clientId);
+        return score != null ? score.getCurrentStreak() : 0;
+    }
+    
     /**
      * Get total score for a client
      */
@@ -124,72 +265,322 @@ public class ScoreManager {
     }
     
     /**
-     * Get sorted scores (descending order)
+     * Get sorted scores (descending order), as consistent copies
      */
     public List<ClientScore> getSortedScores() {
-        List<ClientScore> scores = new ArrayList<>(clientScores.values());
-        scores.sort((a, b) -> {
-            // Sort by total score (descending)
-            int scoreCompare = Integer.compare(b.getTotalScore(), a.getTotalScore());
-            if (scoreCompare != 0) return scoreCompare;
-            
-            // If scores are equal, sort by accuracy
-            int accuracyCompare = Double.compare(b.getAccuracy(), a.getAccuracy());
-            if (accuracyCompare != 0) return accuracyCompare;
-            
-            // If still equal, sort by name
-            return a.getClientName().compareTo(b.getClientName());
-        });
-        return scores;
+        return getSnapshot().getScores();
+    }
+    
+    /**
+     * Freeze the current ranking into a new snapshot (no-op if nothing changed).
+     * Call after a scoring commit.
+     */
+    public LeaderboardSnapshot publishSnapshot() {
+        synchronized (rankLock) {
+            LeaderboardSnapshot current = snapshot;
+            if (current == null || current.getVersion() != version) {
+                current = new LeaderboardSnapshot(version, owners(rankIndex.range(1, rankIndex.size())));
+                snapshot = current;
+            }
+            return current;
+        }
+    }
+    
+    /**
+     * Latest snapshot, published now if scores changed since the last one
+     */
+    public LeaderboardSnapshot getSnapshot() {
+        LeaderboardSnapshot current = snapshot;
+        if (current != null && current.getVersion() == version) {
+            return current;
+        }
+        return publishSnapshot();
+    }
+    
+    /**
+     * Version of the scores (changes with every registration, update or removal)
+     */
+    public long getVersion() {
+        return version;
     }
     
     /**
      * Get rank for a client (1-based)
      */
     public int getRank(String clientId) {
-        List<ClientScore> sorted = getSortedScores();
-        for (int i = 0; i < sorted.size(); i++) {
-            if (sorted.get(i).getClientId().equals(clientId)) {
-                return i + 1;
-            }
+        ClientScore score = clientScores.get(clientId);
+        if (score == null) {
+            return -1; // Not found
+        }
+        synchronized (rankLock) {
+            return rankIndex.rankOf(score.rankEntry);
         }
-        return -1; // Not found
     }
     
     /**
      * Get top N scorers
      */
     public List<ClientScore> getTopScorers(int n) {
-        List<ClientScore> sorted = getSortedScores();
-        return sorted.subList(0, Math.min(n, sorted.size()));
+        if (n <= TOP_K) {
+            return owners(topScores.getTop(n));
+        }
+        synchronized (rankLock) {
+            return owners(rankIndex.range(1, n));
+        }
+    }
+    
+    /**
+     * Get the players ranked within radius places of a 1-based rank
+     */
+    public List<ClientScore> getScoresAroundRank(int rank, int radius) {
+        synchronized (rankLock) {
+            int from = Math.max(1, rank - radius);
+            return owners(rankIndex.range(from, rank + radius - from + 1));
+        }
+    }
+    
+    /**
+     * Get the number of players
+     */
+    public int getParticipantCount() {
+        return clientScores.size();
     }
     
     /**
      * Get winner (highest score)
      */
     public ClientScore getWinner() {
-        List<ClientScore> sorted = getSortedScores();
-        return sorted.isEmpty() ? null : sorted.get(0);
+        RankEntry first = topScores.first();
+        return first != null ? first.toScore() : null;
+    }
+    
+    // ==================== Category Leaderboards ====================
+    
+    /**
+     * Categories scored so far, in name order
+     */
+    public List<String> getCategories() {
+        synchronized (rankLock) {
+            return categoryRankings.getCategories();
+        }
+    }
+    
+    /**
+     * Get the top N scorers of a category
+     */
+    public List<ClientScore> getCategoryTopScorers(String category, int n) {
+        synchronized (rankLock) {
+            return owners(categoryRankings.top(category, n));
+        }
+    }
+    
+    /**
+     * Get the best scorer of a category, or null if nobody was scored in it
+     */
+    public ClientScore getCategoryLeader(String category) {
+        List<ClientScore> top = getCategoryTopScorers(category, 1);
+        return top.isEmpty() ? null : top.get(0);
+    }
+    
+    /**
+     * Get a client's rank within a category (1-based), or -1 if not scored there
+     */
+    public int getCategoryRank(String category, String clientId) {
+        synchronized (rankLock) {
+            return categoryRankings.rankOf(category, clientId);
+        }
+    }
+    
+    /**
+     * Get the number of players scored in a category
+     */
+    public int getCategoryParticipantCount(String category) {
+        synchronized (rankLock) {
+            return categoryRankings.size(category);
+        }
+    }
+    
+    /**
+     * Get a client's score in every category they were scored in, as copies
+     */
+    public Map<String, ClientScore> getCategoryScores(String clientId) {
+        Map<String, ClientScore> vector = new LinkedHashMap<>();
+        synchronized (rankLock) {
+            for (Map.Entry<String, RankEntry> entry : categoryRankings.entriesOf(clientId).entrySet()) {
+                vector.put(entry.getKey(), entry.getValue().toScore());
+            }
+        }
+        return vector;
+    }
+    
+    /**
+     * Get the players in the top percent of the ranking (at least one if any)
+     */
+    public List<ClientScore> getTopPercent(double percent) {
+        synchronized (rankLock) {
+            int count = (int) Math.ceil(rankIndex.size() * percent / 100.0);
+            return owners(rankIndex.range(1, count));
+        }
+    }
+    
+    /**
+     * Get the top percent a client is in (1.0 = top 1%), or -1 if not found
+     */
+    public double getTopPercentile(String clientId) {
+        ClientScore score = clientScores.get(clientId);
+        if (score == null) {
+            return -1;
+        }
+        synchronized (rankLock) {
+            return rankIndex.rankOf(score.rankEntry) * 100.0 / rankIndex.size();
+        }
+    }
+    
+    /**
+     * Rank with a Fenwick tree over [minScore, maxScore] when that range is
+     * small enough, else with a treap. Call when the quiz plan is known;
+     * existing scores are re-indexed.
+     */
+    public void configureScoreRange(int minScore, int maxScore) {
+        int low = Math.min(0, minScore);  // everybody starts at 0
+        int high = Math.max(0, maxScore);
+        if ((long) high - low + 1 <= MAX_FENWICK_RANGE) {
+            setRankIndex(new FenwickRankIndex(low, high));
+        } else {
+            setRankIndex(new OrderStatisticTreap());
+        }
+    }
+    
+    /**
+     * Replace the rank index, re-indexing every current score
+     */
+    public void setRankIndex(RankIndex index) {
+        synchronized (rankLock) {
+            rankIndex = index;
+            version++;
+            for (ClientScore score : clientScores.values()) {
+                RankEntry entry = new RankEntry(score, score.getPacked());
+                if (!index.supportsScore(entry.getTotalScore())) {
+                    setRankIndex(new OrderStatisticTreap());
+                    return;
+                }
+                score.rankEntry = entry;
+                index.add(entry);
+            }
+            topScores.rebuild(index);
+        }
+        System.out.println("✓ Ranking with: " + index.getName());
+    }
+    
+    /**
+     * Name of the ranking backend in use
+     */
+    public String getRankIndexName() {
+        synchronized (rankLock) {
+            return rankIndex.getName();
+        }
+    }
+    
+    /**
+     * Put a score's current values into the rank index (caller holds rankLock)
+     */
+    private void index(ClientScore score) {
+        RankEntry entry = new RankEntry(score, score.getPacked());
+        if (!rankIndex.supportsScore(entry.getTotalScore())) {
+            // Outside the planned range (rules changed mid-quiz?): fall back to
+            // the unbounded index, which re-indexes this score with the rest
+            System.out.println("⚠ Score " + entry.getTotalScore() + " outside " + rankIndex.getName());
+            setRankIndex(new OrderStatisticTreap());
+            return;
+        }
+        RankEntry previous = score.rankEntry; // already out of the index, if any
+        score.rankEntry = entry;
+        rankIndex.add(entry);
+        topScores.update(previous, entry, rankIndex);
+        version++;
+    }
+    
+    /**
+     * Consistent copies of the scores, each in the state it was ranked with
+     */
+    private static List<ClientScore> owners(List<RankEntry> entries) {
+        List<ClientScore> scores = new ArrayList<>(entries.size());
+        for (RankEntry entry : entries) {
+            scores.add(entry.toScore());
+        }
+        return scores;
     }
     
     /**
      * Reset all scores
      */
     public void resetAllScores() {
-        clientScores.clear();
-        // Re-register all clients with zero scores
-        for (Map.Entry<String, String> entry : clientNames.entrySet()) {
-            clientScores.put(entry.getKey(), new ClientScore(entry.getKey(), entry.getValue()));
+        synchronized (rankLock) {
+            clientScores.clear();
+            rankIndex.clear();
+            categoryRankings.clear();
+            topScores.rebuild(rankIndex);
+            version++;
+            // Re-register all clients with zero scores
+            for (Map.Entry<String, String> entry : clientNames.entrySet()) {
+                ClientScore score = new ClientScore(entry.getKey(), entry.getValue());
+                clientScores.put(entry.getKey(), score);
+                index(score);
+            }
         }
         System.out.println("✓ All scores reset");
     }
     
+    /**
+     * Remove every client and score (the session was archived)
+     */
+    public void clearAll() {
+        synchronized (rankLock) {
+            clientScores.clear();
+            clientNames.clear();
+            rankIndex.clear();
+            categoryRankings.clear();
+            topScores.rebuild(rankIndex);
+            version++;
+        }
+        System.out.println("✓ All scores cleared");
+    }
+    
+    /**
+     * Approximate heap bytes held by scores and names
+     */
+    public long estimateBytes() {
+        return estimateBytes(clientScores.values());
+    }
+    
+    /**
+     * Approximate heap bytes of a set of scores as held by a ScoreManager
+     */
+    public static long estimateBytes(Collection<ClientScore> scores) {
+        long bytes = 0;
+        for (ClientScore score : scores) {
+            // ClientScore object + two map entries + id and name strings
+            // plus its rank entry and tree node
+            bytes += 48 + 2 * 32 + 2 * (40 + score.getClientId().length())
+                   + 40 + score.getClientName().length() + 32 + 32;
+        }
+        return bytes;
+    }
+    
     /**
      * Remove client from scoring
      */
     public void removeClient(String clientId) {
-        clientScores.remove(clientId);
-        clientNames.remove(clientId);
+        synchronized (rankLock) {
+            ClientScore score = clientScores.remove(clientId);
+            if (score != null) {
+                rankIndex.remove(score.rankEntry);
+                topScores.update(score.rankEntry, null, rankIndex);
+                categoryRankings.remove(clientId);
+                version++;
+            }
+            clientNames.remove(clientId);
+        }
         System.out.println("✓ Removed client from scoring: " + clientId);
     }
     
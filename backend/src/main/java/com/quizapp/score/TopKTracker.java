@@ -0,0 +1,112 @@
+package com.quizapp.score;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Top-K Tracker - Member 4
+ * The best K players, kept up to date on every score change
+ *
+ * Network Concepts:
+ * - Live leaderboard head for display broadcasts
+ * - Lock-free reads next to concurrent updates
+ *
+ * The top K entries are an immutable sorted array that is replaced on a
+ * change. A change below the K-th entry is one comparison and leaves the
+ * array alone; a change inside it is an O(K) insert or remove. Only when a
+ * player falls out of the top K is the rank index asked for the new K-th
+ * player. Update cost therefore depends on K, not on the participant count.
+ *
+ * Writers must hold the lock that guards the rank index; readers need none.
+ *
+ * @author Member 4
+ */
+public class TopKTracker {
+    private static final RankEntry[] EMPTY = new RankEntry[0];
+
+    private final int capacity;
+    private volatile RankEntry[] top;
+
+    public TopKTracker(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Top-K capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.top = EMPTY;
+    }
+
+    /**
+     * Apply one change: removed left the index and/or added joined it.
+     * The index must already reflect the change.
+     */
+    public void update(RankEntry removed, RankEntry added, RankIndex index) {
+        RankEntry[] current = top;
+        int at = removed != null ? indexOf(current, removed) : -1;
+        boolean enters = added != null
+            && (current.length < capacity || added.compareTo(current[current.length - 1]) < 0);
+        if (at < 0 && !enters) {
+            return; // the change is below the top K
+        }
+
+        List<RankEntry> next = new ArrayList<>(current.length + 1);
+        for (int i = 0; i < current.length; i++) {
+            if (i != at) {
+                next.add(current[i]);
+            }
+        }
+        if (enters) {
+            int position = 0;
+            while (position < next.size() && next.get(position).compareTo(added) < 0) {
+                position++;
+            }
+            next.add(position, added);
+            if (next.size() > capacity) {
+                next.remove(capacity);
+            }
+        } else if (next.size() < index.size()) {
+            // Someone dropped out of the top K: the index knows who is K-th now
+            next.add(index.entryAt(next.size() + 1));
+        }
+        top = next.toArray(EMPTY);
+    }
+
+    /**
+     * Reload the top K from the index (after a clear or a new index)
+     */
+    public void rebuild(RankIndex index) {
+        top = index.range(1, capacity).toArray(EMPTY);
+    }
+
+    /**
+     * The best n entries (n at most the capacity), best first
+     */
+    public List<RankEntry> getTop(int n) {
+        RankEntry[] current = top;
+        List<RankEntry> entries = new ArrayList<>(Math.min(n, current.length));
+        for (int i = 0; i < n && i < current.length; i++) {
+            entries.add(current[i]);
+        }
+        return entries;
+    }
+
+    /**
+     * The leader, or null if nobody is ranked
+     */
+    public RankEntry first() {
+        RankEntry[] current = top;
+        return current.length > 0 ? current[0] : null;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    private static int indexOf(RankEntry[] entries, RankEntry entry) {
+        for (int i = 0; i < entries.length; i++) {
+            if (entries[i] == entry) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
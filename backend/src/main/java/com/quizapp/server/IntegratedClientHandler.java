@@ -1,5 +1,6 @@
 package com.quizapp.server;
 
+import com.quizapp.score.ScoreManager;
 import java.io.*;
 import java.net.*;
 
@@ -17,6 +18,7 @@ public class IntegratedClientHandler implements Runnable {
     private String clientId;
     private String studentName;
     private volatile boolean running = true;
+    private final MessageRateLimiter rateLimiter = new MessageRateLimiter();
     
     public IntegratedClientHandler(Socket socket, IntegratedClientsManager clientsManager, IntegratedQuizServer server) {
         this.socket = socket;
@@ -41,7 +43,12 @@ public class IntegratedClientHandler implements Runnable {
             // Wait for student name
             String nameMsg = in.readLine();
             if (nameMsg != null && nameMsg.startsWith("NAME|")) {
-                studentName = nameMsg.substring(5).trim();
+                String name = nameMsg.substring(5).trim();
+                if (name.isEmpty() || name.length() > ScoreManager.MAX_NAME_LENGTH) {
+                    out.println("ERROR|Name must be 1-" + ScoreManager.MAX_NAME_LENGTH + " characters");
+                    return;
+                }
+                studentName = name;
                 
                 // Send welcome message
                 out.println("WELCOME|" + studentName + "|Waiting for quiz to start...");
@@ -75,7 +82,16 @@ public class IntegratedClientHandler implements Runnable {
             // Handle client messages
             String message;
             while (running && (message = in.readLine()) != null) {
-                handleMessage(message);
+                // Drop floods before any parsing; disconnect clients that keep flooding
+                MessageRateLimiter.Decision decision =
+                    rateLimiter.check(MessageRateLimiter.typeOfLine(message));
+                if (decision == MessageRateLimiter.Decision.ALLOW) {
+                    handleMessage(message);
+                } else if (decision == MessageRateLimiter.Decision.DISCONNECT) {
+                    System.out.println("⚠ Disconnecting " + clientId + ": too many messages");
+                    out.println("ERROR|Too many messages");
+                    break;
+                }
             }
             
         } catch (IOException e) {
@@ -96,11 +112,14 @@ public class IntegratedClientHandler implements Runnable {
                 String questionId = parts[1];
                 String answer = parts[2];
                 
-                // Record answer in the server
-                server.recordClientAnswer(clientId, questionId, answer);
-                
-                // Send acknowledgment
-                out.println("ACK|Answer recorded");
+                // Record answer in the server and send acknowledgment
+                if (server.recordClientAnswer(clientId, questionId, answer)) {
+                    out.println("ACK|Answer recorded");
+                } else if (server.isAnswerRecorded(clientId, questionId, answer)) {
+                    out.println("ACK|Answer already recorded"); // retry of a stored answer
+                } else {
+                    out.println("ACK|Answer not accepted");
+                }
             }
         }
         else if (message.equals("PING")) {
@@ -22,6 +22,9 @@ import java.util.concurrent.*;
  */
 public class IntegratedQuizServer {
     private static final int PORT = 8080;
+    private static final String JOURNAL_FILE = "answers.journal";
+    private static final String ARCHIVE_DIR = "quiz-archive";
+    private static final String IMPORT_DIR = "questions.d"; // extra question files, imported at startup
     private ServerSocket serverSocket;
     private ExecutorService threadPool;
     private volatile boolean running = false;
@@ -31,20 +34,30 @@ public class IntegratedQuizServer {
     
     // Member 2: Quiz Management
     private QuizManager quizManager;
-    private Quiz currentQuestion;
-    private int currentQuestionNumber = 0;
+    private volatile QuizCursor quizCursor;
+    private volatile QuizShuffler shuffler = QuizShuffler.identity();
+    private boolean perStudentShuffle = true; // different question/option order per student
+    private boolean incrementalScoring = true; // score answers as they arrive, commit at close
+    private volatile Quiz currentQuestion;
+    private volatile int currentQuestionNumber = 0;
     
     // Member 3: Answer Processing
     private AnswerCollector answerCollector;
     private AnswerValidator answerValidator;
+    private AnswerJournal answerJournal;
+    private boolean recoveredSession = false;
     
     // Member 4: Scoring
     private ScoreManager scoreManager;
     private Leaderboard leaderboard;
+    private LeaderboardDeltaTracker leaderboardDeltas;
+    private boolean deltaLeaderboard = true; // send changed rows and personal RANK frames only
     
     // Member 5: Results
     private ResultsGenerator resultsGenerator;
     private QuizStatistics quizStatistics;
+    private RetentionManager retentionManager;
+    private String sessionId;
     
     private volatile boolean quizStarted = false;
     private volatile boolean quizEnded = false;
@@ -57,18 +70,47 @@ public class IntegratedQuizServer {
         // Member 2: Initialize quiz with questions
         this.quizManager = new QuizManager("questions.txt");
         quizManager.loadQuestions();
+        if (new File(IMPORT_DIR).isDirectory()) {
+            quizManager.importDirectory(IMPORT_DIR);
+        }
         
         // Member 3: Initialize answer processing
         this.answerCollector = new AnswerCollector(30); // 30 seconds per question
+        answerCollector.startIngestion();
         this.answerValidator = new AnswerValidator(answerCollector);
         
         // Member 4: Initialize scoring
         this.scoreManager = new ScoreManager();
         this.leaderboard = new Leaderboard(scoreManager, 10);
+        this.leaderboardDeltas = new LeaderboardDeltaTracker(leaderboard.getDisplayLimit());
         
         // Member 5: Initialize results
         this.resultsGenerator = new ResultsGenerator(scoreManager, quizManager, answerCollector);
         this.quizStatistics = new QuizStatistics(scoreManager, quizManager, answerCollector);
+        this.retentionManager = new RetentionManager(ARCHIVE_DIR);
+        
+        // Restore answers and scores of a quiz interrupted by a crash, then journal new ones
+        openJournal();
+    }
+    
+    /**
+     * Open the answer journal, replay it and attach it to the collector and score manager
+     */
+    private void openJournal() {
+        try {
+            answerJournal = new AnswerJournal(JOURNAL_FILE);
+            if (answerJournal.recover(answerCollector, scoreManager) > 0) {
+                recoveredSession = true;
+                System.out.println("📂 Scores of the interrupted quiz:");
+                System.out.println(leaderboard.generateLeaderboard());
+            }
+            answerJournal.start();
+            answerCollector.setJournal(answerJournal);
+            scoreManager.setJournal(answerJournal);
+        } catch (IOException e) {
+            System.err.println("⚠ Answer journal unavailable, running in memory only: " + e.getMessage());
+            answerJournal = null;
+        }
     }
     
     /**
@@ -127,13 +169,41 @@ public class IntegratedQuizServer {
         
         quizStarted = true;
         
+        // A new quiz starts a new journal; earlier records are no longer needed
+        if (recoveredSession) {
+            answerCollector.clearAllAnswers();
+            for (ScoreManager.ClientScore score : new ArrayList<>(scoreManager.getAllScores())) {
+                scoreManager.removeClient(score.getClientId());
+            }
+            recoveredSession = false;
+        }
+        if (answerJournal != null) {
+            try {
+                answerJournal.truncate();
+            } catch (IOException e) {
+                System.err.println("⚠ Could not reset answer journal: " + e.getMessage());
+            }
+        }
+        
         System.out.println("\n╔════════════════════════════════════════╗");
         System.out.println("║        QUIZ STARTING NOW!              ║");
         System.out.println("╚════════════════════════════════════════╝");
         System.out.println("Total participants: " + clientsManager.getConnectedClientsCount());
         
         // Prepare quiz with 5 questions for demo
-        quizManager.prepareQuiz(5);
+        QuizPlan plan = quizManager.createPlan(5);
+        quizCursor = new QuizCursor(plan);
+        shuffler = new QuizShuffler(System.nanoTime(), perStudentShuffle);
+        System.out.println("✓ Quiz prepared with " + plan.size() + " questions" +
+            (perStudentShuffle ? " (shuffled per student)" : ""));
+        
+        // Archive (or move out) the previous session before this one registers its players
+        sessionId = "QUIZ_" + System.currentTimeMillis();
+        retentionManager.beginSession(sessionId, answerCollector, scoreManager);
+        
+        // The plan bounds the possible scores, so ranking can use a bounded index
+        scoreManager.configureScoreRange(answerValidator.getMinPossibleScore(plan),
+            answerValidator.getMaxPossibleScore(plan));
         
         // Register all clients in score manager
         for (IntegratedClientHandler client : clientsManager.getAllClients()) {
@@ -148,9 +218,10 @@ public class IntegratedQuizServer {
         
         // Mark quiz start time
         resultsGenerator.startQuiz();
+        leaderboardDeltas.reset(); // first leaderboard of the quiz is sent in full
         
         // Broadcast quiz start message
-        clientsManager.broadcastToAll("QUIZ_START|" + quizManager.getTotalQuestions());
+        clientsManager.broadcastToAll("QUIZ_START|" + plan.size());
         
         // Start sending questions
         new Thread(() -> runQuiz()).start();
@@ -165,20 +236,25 @@ public class IntegratedQuizServer {
         try {
             Thread.sleep(2000); // Wait 2 seconds before first question
             
-            while (quizManager.hasMoreQuestions()) {
-                currentQuestion = quizManager.getNextQuestion();
-                currentQuestionNumber++;
+            Quiz question;
+            while ((question = quizCursor.next()) != null) {
+                currentQuestion = question;
+                currentQuestionNumber = quizCursor.getPosition();
                 
                 System.out.println("\n📤 Sending Question " + currentQuestionNumber + "...");
                 System.out.println("   " + currentQuestion.getQuestionText());
                 
-                // Start timer for this question
-                answerCollector.startQuestionTimer();
-                
-                // Broadcast question to all clients with question number and time limit
+                // Send question to all clients with question number and time limit
                 int timeLimit = answerCollector.getQuestionTimeLimit();
-                String questionMsg = currentQuestion.formatForClient(currentQuestionNumber, timeLimit);
-                clientsManager.broadcastToAll(questionMsg);
+                if (shuffler.isEnabled()) {
+                    sendShuffledQuestions(timeLimit);
+                } else {
+                    // Start timer for this question
+                    openQuestion(currentQuestion);
+                    
+                    String questionMsg = currentQuestion.formatForClient(currentQuestionNumber, timeLimit);
+                    clientsManager.broadcastToAll(questionMsg);
+                }
                 
                 // Wait for answers (30 seconds + 5 seconds buffer)
                 Thread.sleep(35000);
@@ -201,43 +277,130 @@ public class IntegratedQuizServer {
         }
     }
     
+    /**
+     * Send each client the question and option order derived from their seed
+     */
+    private void sendShuffledQuestions(int timeLimit) {
+        Set<String> opened = new HashSet<>();
+        for (IntegratedClientHandler client : clientsManager.getAllClients()) {
+            String clientId = client.getClientId();
+            Quiz question = questionFor(clientId);
+            if (opened.add(question.getQuestionId())) {
+                // Start timer for each question asked in this round
+                openQuestion(question);
+            }
+            int permutation = shuffler.optionPermutation(clientId, question.getQuestionId());
+            client.sendMessage(question.formatForClient(currentQuestionNumber, timeLimit, permutation));
+        }
+    }
+    
+    /**
+     * Start a question's timer and, in incremental mode, its per-answer scoring
+     */
+    private void openQuestion(Quiz question) {
+        if (incrementalScoring) {
+            answerCollector.startQuestionTimer(question.getQuestionId(), answerValidator.scoringFor(question));
+        } else {
+            answerCollector.startQuestionTimer(question.getQuestionId());
+        }
+    }
+    
+    /**
+     * Question a client sees in the current round
+     */
+    private Quiz questionFor(String clientId) {
+        QuizPlan plan = quizCursor.getPlan();
+        return plan.get(shuffler.questionIndex(clientId, currentQuestionNumber - 1, plan.size()));
+    }
+    
     /**
      * Process answers for current question
      */
     private void processAnswers() {
         System.out.println("\n✓ Processing answers for Question " + currentQuestionNumber + "...");
         
+        // Make sure every answer received before the deadline is applied
+        answerCollector.closeQuestions();
+        answerCollector.flush();
+        
         int answeredCount = 0;
         int correctCount = 0;
+        int scoredCount = 0;
+        // QuestionID -> {answered, correct}; students may see different questions per round
+        Map<String, int[]> outcomes = new HashMap<>();
+        // QuestionID -> all participants validated in one pass (when not scored on arrival)
+        Map<String, BatchAnswerValidator.BatchResult> batches = new HashMap<>();
+        ColumnarAnswerStore store = answerCollector.getStore();
+        long commitStart = System.nanoTime();
         
         for (IntegratedClientHandler client : clientsManager.getAllClients()) {
             String clientId = client.getClientId();
+            Quiz question = questionFor(clientId);
+            scoredCount++;
+            int[] outcome = outcomes.computeIfAbsent(question.getQuestionId(), k -> new int[2]);
             
-            if (answerCollector.hasAnswered(clientId, currentQuestion.getQuestionId())) {
+            // Results are shared prebuilt frames: nothing is formatted per client
+            int permutation = shuffler.optionPermutation(clientId, question.getQuestionId());
+            if (answerCollector.hasAnswered(clientId, question.getQuestionId())) {
                 answeredCount++;
+                outcome[0]++;
                 
-                // Validate answer
-                AnswerValidator.ValidationResult result = 
-                    answerValidator.validateAnswer(clientId, currentQuestion);
+                // Result of this client's answer, in the option order they saw
+                AnswerValidator.ValidationResult result;
+                if (incrementalScoring) {
+                    // Already scored when the answer arrived: just read it
+                    result = answerValidator.provisionalResult(clientId, question, permutation);
+                } else {
+                    BatchAnswerValidator.BatchResult batch = batches.computeIfAbsent(
+                        question.getQuestionId(), k -> answerValidator.validateBatch(question));
+                    result = answerValidator.toValidationResult(
+                        batch, store.findParticipant(clientId), question, permutation);
+                }
                 
                 if (result.isCorrect()) {
                     correctCount++;
+                    outcome[1]++;
                 }
                 
-                // Update score
-                scoreManager.updateScore(clientId, result.getPointsEarned(), result.isCorrect());
+                // Commit the score (streak multiplier applies to correct answers)
+                if (result.isCorrect()) {
+                    result = answerValidator.applyStreak(result, scoreManager.getCurrentStreak(clientId));
+                }
+                scoreManager.updateScore(clientId, result.getPointsEarned(), result.isCorrect(),
+                    question.getCategory());
                 
                 // Send feedback to client
                 clientsManager.sendToClient(clientId, result.formatForClient());
             } else {
                 // No answer submitted
-                scoreManager.updateScore(clientId, 0, false);
-                clientsManager.sendToClient(clientId, "RESULT|TIMEOUT|0|Time's up!");
+                scoreManager.updateScore(clientId, 0, false, question.getCategory());
+                clientsManager.sendToClient(clientId,
+                    answerValidator.timeoutResult(question, permutation).formatForClient());
             }
         }
         
+        // Scoring commit done: publish the leaderboard version everyone will see
+        LeaderboardSnapshot snapshot = scoreManager.publishSnapshot();
+        
         System.out.println("   Answered: " + answeredCount + "/" + clientsManager.getConnectedClientsCount());
         System.out.println("   Correct: " + correctCount);
+        System.out.println("   Scores updated: " + scoredCount);
+        System.out.println(String.format("   Results committed and sent in %.1f ms (%s)",
+            (System.nanoTime() - commitStart) / 1_000_000.0,
+            incrementalScoring ? "scored on arrival" : "batch validated"));
+        System.out.println("   Leaderboard version: " + snapshot.getVersion());
+        System.out.println("   " + answerCollector.getIngestionStats());
+        System.out.println("   Rejected submissions (" + answerCollector.getAnswerPolicy() + "): " +
+            answerCollector.getRejectedAnswerCount());
+        System.out.println("   " + MessageRateLimiter.getSummary());
+        if (answerJournal != null) {
+            System.out.println("   " + answerJournal.getSummary());
+        }
+        
+        // Feed the correctness rates into the difficulty buckets
+        for (Map.Entry<String, int[]> entry : outcomes.entrySet()) {
+            quizManager.recordQuestionOutcome(entry.getKey(), entry.getValue()[0], entry.getValue()[1]);
+        }
     }
     
     /**
@@ -248,7 +411,65 @@ public class IntegratedQuizServer {
         
         // Broadcast leaderboard to all clients
         String leaderboardMsg = leaderboard.getBroadcastMessage();
-        clientsManager.broadcastToAll(leaderboardMsg);
+        int fullBytes = LeaderboardDeltaTracker.utf8Length(leaderboardMsg);
+        Collection<IntegratedClientHandler> clients = clientsManager.getAllClients();
+        if (!deltaLeaderboard) {
+            clientsManager.broadcastToAll(leaderboardMsg);
+            leaderboardDeltas.recordBroadcast((long) fullBytes * clients.size(), (long) fullBytes * clients.size());
+            return;
+        }
+        
+        // Delta mode: changed top rows for everyone, full board only for clients that lack one
+        LeaderboardSnapshot snapshot = scoreManager.getSnapshot();
+        LeaderboardDelta delta = leaderboardDeltas.next(snapshot);
+        String topFrame = delta.hasTopChanges() ? delta.formatTopFrame() : null;
+        int topBytes = topFrame != null ? LeaderboardDeltaTracker.utf8Length(topFrame) : 0;
+        if (topFrame != null && topBytes >= fullBytes) {
+            topFrame = leaderboardMsg; // most rows changed: the full board is smaller
+            topBytes = fullBytes;
+        }
+        long[] sent = new long[1];
+        Set<String> freshlySynced = new HashSet<>();
+        for (IntegratedClientHandler client : clients) {
+            if (leaderboardDeltas.markSynced(client.getClientId()) && !delta.isFull()) {
+                freshlySynced.add(client.getClientId());
+                client.sendMessage(leaderboardMsg);
+                sent[0] += fullBytes;
+                int rank = snapshot.rankOf(client.getClientId());
+                if (rank > 0) {
+                    String rankFrame = LeaderboardDelta.formatRankFrame(rank, snapshot.size(),
+                        snapshot.getScores().get(rank - 1).getTotalScore());
+                    client.sendMessage(rankFrame);
+                    sent[0] += LeaderboardDeltaTracker.utf8Length(rankFrame);
+                }
+            } else if (delta.isFull()) {
+                client.sendMessage(leaderboardMsg);
+                sent[0] += fullBytes;
+            } else if (topFrame != null) {
+                client.sendMessage(topFrame);
+                sent[0] += topBytes;
+            }
+        }
+        
+        // Personal frames only for players whose own rank or score moved
+        delta.forEachPersonalChange((score, rank, participants) -> {
+            if (!freshlySynced.contains(score.getClientId())) {
+                String rankFrame = LeaderboardDelta.formatRankFrame(rank, participants, score.getTotalScore());
+                clientsManager.sendToClient(score.getClientId(), rankFrame);
+                sent[0] += LeaderboardDeltaTracker.utf8Length(rankFrame);
+            }
+        });
+        leaderboardDeltas.recordBroadcast(sent[0], (long) fullBytes * clients.size());
+        System.out.println("   " + leaderboardDeltas.getSummary());
+    }
+    
+    /**
+     * Send only leaderboard changes and personal rank frames (default), or
+     * the full leaderboard to everyone after each question
+     */
+    public void setDeltaLeaderboard(boolean enabled) {
+        this.deltaLeaderboard = enabled;
+        leaderboardDeltas.reset();
     }
     
     /**
@@ -266,25 +487,89 @@ public class IntegratedQuizServer {
         System.out.println(resultsGenerator.generateWinnerAnnouncement());
         System.out.println(resultsGenerator.generateDetailedReport());
         System.out.println(leaderboard.generateTop3());
+        System.out.println(leaderboard.generateCategoryLeaders());
         System.out.println(quizStatistics.generateComprehensiveReport());
         
         // Broadcast results to all clients
         String resultsMsg = resultsGenerator.generateBroadcastSummary();
         clientsManager.broadcastToAll(resultsMsg);
         
+        // Every participant's own result and nearby ranking, rendered in one pass and sent as it goes
+        long personalStart = System.nanoTime();
+        int personalCount = resultsGenerator.streamPersonalResults(leaderboard,
+            (clientId, result, ranking) -> clientsManager.sendToClient(clientId,
+                "FINAL_RESULTS|" + (result + ranking).replace("\r\n", "\n").replace("\n", "\\n")));
+        System.out.println(String.format("✓ Personal results sent to %d participants in %.1f ms",
+            personalCount, (System.nanoTime() - personalStart) / 1_000_000.0));
+        
         System.out.println("\n✓ Quiz statistics saved");
         System.out.println("✓ Results sent to all participants\n");
+        
+        // Answers and scores move to the archive once they exceed the memory budget
+        retentionManager.completeSession(sessionId);
+        System.out.println(retentionManager.getRetentionReport());
     }
     
     /**
-     * Record answer from a client
+     * Record answer from a client.
+     * Returns false if the quiz is not running, the answer is not for the
+     * client's question in the current round, or the answer policy rejected it.
      */
-    public void recordClientAnswer(String clientId, String questionId, String answer) {
-        if (!quizStarted || quizEnded) {
-            return;
+    public boolean recordClientAnswer(String clientId, String questionId, String answer) {
+        if (!quizStarted || quizEnded || currentQuestionNumber < 1) {
+            return false;
         }
         
-        answerCollector.recordAnswer(clientId, questionId, answer);
+        // Only the question this client was asked this round (not another
+        // student's shuffled question, nor an earlier round's)
+        if (!questionFor(clientId).getQuestionId().equals(questionId)) {
+            System.out.println("⚠ Answer for question " + questionId + " rejected: not " + clientId + "'s current question");
+            return false;
+        }
+        
+        // Students answer with the letter they saw; store the canonical letter
+        int permutation = shuffler.optionPermutation(clientId, questionId);
+        return answerCollector.recordAnswer(clientId, questionId,
+            QuizShuffler.toCanonicalLetter(answer, permutation));
+    }
+    
+    /**
+     * Whether a client's answer (in their option order) is the one already
+     * recorded, i.e. a rejected submission was a retry of a stored answer
+     */
+    public boolean isAnswerRecorded(String clientId, String questionId, String answer) {
+        int permutation = shuffler.optionPermutation(clientId, questionId);
+        return answerCollector.isRecorded(clientId, questionId,
+            QuizShuffler.toCanonicalLetter(answer, permutation));
+    }
+    
+    /**
+     * Set the answer-change policy for this server's quizzes
+     */
+    public void setAnswerPolicy(AnswerPolicy policy) {
+        answerCollector.setAnswerPolicy(policy);
+    }
+    
+    /**
+     * Scoring rules (late penalty, speed bonus, negative marking, streaks,
+     * category weights); changes apply to questions opened later
+     */
+    public ScoringRules getScoringRules() {
+        return answerValidator.getScoringRules();
+    }
+    
+    /**
+     * Enable or disable scoring answers as they arrive (applies to the next question)
+     */
+    public void setIncrementalScoring(boolean enabled) {
+        this.incrementalScoring = enabled;
+    }
+    
+    /**
+     * Set the heap budget for answers and scores of completed quizzes
+     */
+    public void setRetentionBudget(long bytes) {
+        retentionManager.setMemoryBudgetBytes(bytes);
     }
     
     /**
@@ -306,6 +591,15 @@ public class IntegratedQuizServer {
             
             // Shutdown thread pool
             threadPool.shutdown();
+            answerCollector.stopIngestion();
+            retentionManager.archiveAll();
+            if (answerJournal != null) {
+                // An archived quiz needs no crash recovery on the next start
+                if (quizEnded && !retentionManager.isInMemory(sessionId)) {
+                    answerJournal.truncate();
+                }
+                answerJournal.close();
+            }
             
             // Close server socket
             if (serverSocket != null && !serverSocket.isClosed()) {
@@ -338,6 +632,13 @@ public class IntegratedQuizServer {
         System.out.println("╚════════════════════════════════════════════════════════════╝\n");
     }
     
+    /**
+     * Enable or disable per-student question and option shuffling (applies to the next quiz)
+     */
+    public void setPerStudentShuffle(boolean enabled) {
+        this.perStudentShuffle = enabled;
+    }
+    
     // Getters
     public IntegratedClientsManager getClientsManager() { return clientsManager; }
     public boolean isQuizStarted() { return quizStarted; }
@@ -0,0 +1,149 @@
+package com.quizapp.server;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Message Rate Limiter - Member 1
+ * Token buckets for one connection, one bucket per message type
+ *
+ * Network Concepts:
+ * - Flow control / flood protection
+ * - Token bucket algorithm
+ *
+ * Each bucket keeps its credit in nanoseconds: credit grows with elapsed
+ * time up to burst * interval, and every message spends one interval.
+ * Checking a message is a few long operations, with no allocation or lock.
+ * An instance belongs to one connection and must be used from the thread
+ * that reads that connection; the global counters are shared.
+ *
+ * @author Member 1
+ */
+public class MessageRateLimiter {
+    // Message types
+    public static final int ANSWER = 0;
+    public static final int PING = 1;
+    public static final int STATUS = 2;
+    public static final int CONTROL = 3;  // register, admin commands, unknown
+    public static final int MESSAGE = 4;  // any message, checked before parsing
+    private static final int TYPE_COUNT = 5;
+    private static final String[] TYPE_NAMES = { "ANSWER", "PING", "STATUS", "CONTROL", "MESSAGE" };
+
+    // Default limits per connection: messages per second and burst size
+    private static final int[] PER_SECOND = { 5, 2, 2, 5, 20 };
+    private static final int[] BURST = { 10, 5, 5, 10, 40 };
+
+    // Consecutive throttled messages of one type before the connection is dropped.
+    // Counted per type, so messages allowed under another type's budget
+    // (e.g. interleaved PINGs) do not clear a flooder's strikes.
+    private static final int MAX_STRIKES = 50;
+
+    public enum Decision { ALLOW, DROP, DISCONNECT }
+
+    // Global metrics across all connections
+    private static final AtomicLongArray throttledByType = new AtomicLongArray(TYPE_COUNT);
+    private static final AtomicLong disconnects = new AtomicLong();
+
+    private final long[] intervalNanos;
+    private final long[] maxCredit;
+    private final long[] credit;
+    private final long[] lastRefill;
+    private final int[] strikes;
+
+    public MessageRateLimiter() {
+        this.intervalNanos = new long[TYPE_COUNT];
+        this.maxCredit = new long[TYPE_COUNT];
+        this.credit = new long[TYPE_COUNT];
+        this.lastRefill = new long[TYPE_COUNT];
+        this.strikes = new int[TYPE_COUNT];
+        long now = System.nanoTime();
+        for (int type = 0; type < TYPE_COUNT; type++) {
+            intervalNanos[type] = 1_000_000_000L / PER_SECOND[type];
+            maxCredit[type] = intervalNanos[type] * BURST[type];
+            credit[type] = maxCredit[type];
+            lastRefill[type] = now;
+        }
+    }
+
+    /**
+     * Spend one token of the given type.
+     * DROP means ignore the message; DISCONNECT means the client kept
+     * flooding after MAX_STRIKES dropped messages of this type.
+     */
+    public Decision check(int type) {
+        long now = System.nanoTime();
+        long available = credit[type] + (now - lastRefill[type]);
+        if (available > maxCredit[type]) {
+            available = maxCredit[type];
+        }
+        lastRefill[type] = now;
+
+        if (available >= intervalNanos[type]) {
+            credit[type] = available - intervalNanos[type];
+            strikes[type] = 0;
+            return Decision.ALLOW;
+        }
+
+        credit[type] = available;
+        throttledByType.incrementAndGet(type);
+        if (++strikes[type] > MAX_STRIKES) {
+            disconnects.incrementAndGet();
+            return Decision.DISCONNECT;
+        }
+        return Decision.DROP;
+    }
+
+    /**
+     * Message type of a line of the TCP protocol
+     */
+    public static int typeOfLine(String message) {
+        if (message.startsWith("ANSWER|")) return ANSWER;
+        if (message.equals("PING")) return PING;
+        if (message.equals("STATUS")) return STATUS;
+        return CONTROL;
+    }
+
+    /**
+     * Message type of a WebSocket JSON "type" field
+     */
+    public static int typeOfJson(String type) {
+        switch (type) {
+            case "ANSWER": return ANSWER;
+            case "PING": return PING;
+            case "GET_STATUS": return STATUS;
+            default: return CONTROL;
+        }
+    }
+
+    // ==================== Global metrics ====================
+
+    public static long getThrottledCount(int type) {
+        return throttledByType.get(type);
+    }
+
+    public static long getTotalThrottled() {
+        long total = 0;
+        for (int type = 0; type < TYPE_COUNT; type++) {
+            total += throttledByType.get(type);
+        }
+        return total;
+    }
+
+    public static long getDisconnectCount() {
+        return disconnects.get();
+    }
+
+    /**
+     * One-line summary of throttled messages
+     */
+    public static String getSummary() {
+        StringBuilder summary = new StringBuilder("Rate limiting: ");
+        summary.append(getTotalThrottled()).append(" throttled (");
+        for (int type = 0; type < TYPE_COUNT; type++) {
+            if (type > 0) summary.append(", ");
+            summary.append(TYPE_NAMES[type]).append('=').append(throttledByType.get(type));
+        }
+        summary.append("), ").append(disconnects.get()).append(" disconnected");
+        return summary.toString();
+    }
+}
@@ -1,5 +1,6 @@
 package com.quizapp.websocket;
 
+import com.quizapp.server.MessageRateLimiter;
 import org.java_websocket.WebSocket;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
@@ -16,6 +17,7 @@ public class WebSocketClient {
     private Map<Integer, String> answers; // questionId -> answer
     private int score;
     private long registrationTime;
+    private final MessageRateLimiter rateLimiter;
     
     public WebSocketClient(String clientId, WebSocket connection) {
         this.clientId = clientId;
@@ -25,6 +27,7 @@ public class WebSocketClient {
         this.answers = new ConcurrentHashMap<>();
         this.score = 0;
         this.registrationTime = System.currentTimeMillis();
+        this.rateLimiter = new MessageRateLimiter();
     }
     
     public String getClientId() {
@@ -87,6 +90,10 @@ public class WebSocketClient {
         return registrationTime;
     }
     
+    public MessageRateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+    
     @Override
     public String toString() {
         return "WebSocketClient{" +
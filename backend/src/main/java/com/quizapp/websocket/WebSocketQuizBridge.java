@@ -1,6 +1,16 @@
 package com.quizapp.websocket;
 
 import com.quizapp.quiz.*;
+import com.quizapp.answer.AnswerCollector;
+import com.quizapp.answer.AnswerPolicy;
+import com.quizapp.answer.AnswerValidator;
+import com.quizapp.answer.BatchAnswerValidator;
+import com.quizapp.answer.ColumnarAnswerStore;
+import com.quizapp.answer.QuestionScoring;
+import com.quizapp.answer.ScoringRules;
+import com.quizapp.results.RetentionManager;
+import com.quizapp.score.LeaderboardSnapshot;
+import com.quizapp.score.ScoreManager;
 import java.util.*;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
@@ -14,12 +24,20 @@ public class WebSocketQuizBridge {
     
     private WebSocketQuizServer wsServer;
     private QuizManager quizManager;
+    private AnswerCollector answerCollector;
+    private AnswerValidator answerValidator;
+    private ScoreManager scoreManager;
     private ScheduledExecutorService scheduler;
+    private RetentionManager retentionManager;
+    private String sessionId;
     
-    private Quiz currentQuestion;
-    private int currentQuestionNumber = 0;
+    private volatile QuizCursor quizCursor;
+    private volatile Quiz currentQuestion;
+    private volatile int currentQuestionNumber = 0;
     private int totalQuestions = 5;
     private int questionTimeLimit = 30; // seconds
+    private boolean incrementalScoring = true; // score answers as they arrive, commit at close
+    private boolean deltaBroadcasts = false;   // admin patches + RANK pushes (the web frontend expects full lists)
     
     private volatile boolean quizStarted = false;
     private volatile boolean quizEnded = false;
@@ -28,7 +46,12 @@ public class WebSocketQuizBridge {
         this.wsServer = wsServer;
         this.quizManager = new QuizManager(questionsFile);
         this.quizManager.loadQuestions();
+        this.answerCollector = new AnswerCollector(questionTimeLimit);
+        this.answerCollector.startIngestion();
+        this.answerValidator = new AnswerValidator(answerCollector);
+        this.scoreManager = new ScoreManager();
         this.scheduler = Executors.newScheduledThreadPool(2);
+        this.retentionManager = new RetentionManager("quiz-archive");
         
         // Register this bridge with the server so admin can trigger quiz
         wsServer.setQuizBridge(this);
@@ -61,11 +84,29 @@ public class WebSocketQuizBridge {
         System.out.println("╚════════════════════════════════════════╝");
         System.out.println("Total participants: " + studentCount);
         
-        // Prepare quiz
-        quizManager.prepareQuiz(totalQuestions);
+        // Archive the previous session before its answers are cleared
+        sessionId = "WSQUIZ_" + System.currentTimeMillis();
+        // If archiving failed, that session's data was moved out of the stores
+        // (leaving them empty) and must not be cleared
+        if (retentionManager.beginSession(sessionId, answerCollector, scoreManager)) {
+            answerCollector.clearAllAnswers();
+            scoreManager.clearAll();
+        }
+        wsServer.resetLeaderboardDeltas();
+        for (WebSocketClient student : wsServer.getRegisteredStudents()) {
+            scoreManager.registerClient(student.getClientId(), student.getStudentName());
+        }
+        
+        // Prepare quiz: every session gets its own immutable plan and cursor
+        QuizPlan plan = quizManager.createPlan(totalQuestions);
+        quizCursor = new QuizCursor(plan);
+        
+        // The plan bounds the possible scores, so ranking can use a bounded index
+        scoreManager.configureScoreRange(answerValidator.getMinPossibleScore(plan),
+            answerValidator.getMaxPossibleScore(plan));
         
         // Broadcast quiz start
-        wsServer.broadcastQuizStart(totalQuestions);
+        wsServer.broadcastQuizStart(getTotalQuestions());
         
         // Start sending questions after 3 seconds
         scheduler.schedule(() -> sendNextQuestion(), 3, TimeUnit.SECONDS);
@@ -77,17 +118,26 @@ public class WebSocketQuizBridge {
      * Send the next question to all students
      */
     private void sendNextQuestion() {
-        if (!quizManager.hasMoreQuestions()) {
+        Quiz question = quizCursor.next();
+        if (question == null) {
             endQuiz();
             return;
         }
         
-        currentQuestion = quizManager.getNextQuestion();
-        currentQuestionNumber++;
+        currentQuestion = question;
+        currentQuestionNumber = quizCursor.getPosition();
         
         System.out.println("\n📤 Sending Question " + currentQuestionNumber + "...");
         System.out.println("   " + currentQuestion.getQuestionText());
         
+        // Start timer for this question; in incremental mode answers are scored on arrival
+        if (incrementalScoring) {
+            answerCollector.startQuestionTimer(currentQuestion.getQuestionId(),
+                answerValidator.scoringFor(currentQuestion));
+        } else {
+            answerCollector.startQuestionTimer(currentQuestion.getQuestionId());
+        }
+        
         // Extract question details
         String questionText = currentQuestion.getQuestionText();
         String[] options = currentQuestion.getOptions();
@@ -105,6 +155,77 @@ public class WebSocketQuizBridge {
         scheduler.schedule(() -> processAnswersAndContinue(), delay, TimeUnit.SECONDS);
     }
     
+    /**
+     * Record an answer from a WebSocket student (called on the socket thread).
+     * Answers for any question other than the open one are ignored.
+     * Returns false if the answer was ignored or rejected by the answer policy.
+     */
+    public boolean recordAnswer(String clientId, int questionNumber, String answer) {
+        Quiz question = currentQuestion;
+        if (!quizStarted || quizEnded || question == null || questionNumber != currentQuestionNumber) {
+            return false;
+        }
+        return answerCollector.recordAnswer(clientId, question.getQuestionId(), answer);
+    }
+    
+    /**
+     * Whether this answer to the open question is the one already recorded
+     * for the student (a rejected submission was a retry)
+     */
+    public boolean isAnswerRecorded(String clientId, int questionNumber, String answer) {
+        Quiz question = currentQuestion;
+        return question != null && questionNumber == currentQuestionNumber
+            && answerCollector.isRecorded(clientId, question.getQuestionId(), answer);
+    }
+    
+    /**
+     * Enable or disable scoring answers as they arrive (applies to the next question)
+     */
+    public void setIncrementalScoring(boolean enabled) {
+        this.incrementalScoring = enabled;
+    }
+    
+    /**
+     * Send admins leaderboard patches and students personal RANK frames
+     * instead of full leaderboards (off by default: the web frontend does
+     * not apply patches yet)
+     */
+    public void setDeltaBroadcasts(boolean enabled) {
+        this.deltaBroadcasts = enabled;
+        wsServer.resetLeaderboardDeltas();
+    }
+    
+    /**
+     * Scores of the current session
+     */
+    public ScoreManager getScoreManager() {
+        return scoreManager;
+    }
+    
+    /**
+     * Set the answer-change policy for this bridge's quizzes
+     */
+    public void setAnswerPolicy(AnswerPolicy policy) {
+        answerCollector.setAnswerPolicy(policy);
+    }
+    
+    /**
+     * Scoring rules (late penalty, speed bonus, negative marking, streaks,
+     * category weights); changes apply to questions opened later
+     */
+    public ScoringRules getScoringRules() {
+        return answerValidator.getScoringRules();
+    }
+    
+    /**
+     * Correct answers of a student this session (points vary per question,
+     * so they cannot be derived from the score)
+     */
+    private int correctAnswersOf(WebSocketClient student) {
+        ScoreManager.ClientScore score = scoreManager.getScore(student.getClientId());
+        return score != null ? score.getCorrectAnswers() : 0;
+    }
+    
     /**
      * Process answers and send next question
      */
@@ -113,33 +234,88 @@ public class WebSocketQuizBridge {
         
         // Process answers for current question
         String correctAnswer = currentQuestion.getCorrectAnswer();
-        int pointsPerQuestion = 10;
         
         List<WebSocketClient> students = wsServer.getRegisteredStudents();
         int correctCount = 0;
+        int answeredCount = 0;
+        long commitStart = System.nanoTime();
+        
+        // Incremental mode: every answer was scored when it arrived, so only read the results.
+        // Otherwise validate everybody's answer in one pass over the question's column.
+        answerCollector.closeQuestions();
+        answerCollector.flush();
+        ColumnarAnswerStore store = answerCollector.getStore();
+        ColumnarAnswerStore.Column column = store.getColumn(currentQuestion.getQuestionId());
+        QuestionScoring scoring = column != null ? column.getScoring() : null;
+        BatchAnswerValidator.BatchResult batch = scoring == null
+            ? answerValidator.validateBatch(currentQuestion) : null;
         
         for (WebSocketClient student : students) {
-            String answer = student.getAnswer(currentQuestionNumber);
+            int participant = store.findParticipant(student.getClientId());
+            boolean answered;
+            boolean correct;
+            boolean late;
+            int points;
+            if (scoring != null) {
+                byte option = participant >= 0 ? column.getOption(participant) : ColumnarAnswerStore.NO_ANSWER;
+                answered = option != ColumnarAnswerStore.NO_ANSWER;
+                correct = answered && scoring.isCorrect(option);
+                late = answered && column.isLate(participant);
+                points = answered ? column.getProvisionalPoints(participant) : 0;
+            } else {
+                answered = participant >= 0 && participant < batch.getParticipants()
+                    && batch.isAnswered(participant);
+                correct = answered && batch.isCorrect(participant);
+                late = answered && batch.isLate(participant);
+                points = answered ? batch.getPoints(participant) : 0;
+            }
             
-            if (answer != null && answer.equals(correctAnswer)) {
-                // Correct answer
-                student.addScore(pointsPerQuestion);
-                wsServer.sendResult(student.getConnection(), currentQuestionNumber, true, student.getScore());
-                correctCount++;
+            // Commit the score (students who registered mid-quiz join the scoreboard now)
+            if (scoreManager.getScore(student.getClientId()) == null) {
+                scoreManager.registerClient(student.getClientId(), student.getStudentName());
+            }
+            AnswerValidator.ValidationResult result;
+            if (answered) {
+                answeredCount++;
+                result = answerValidator.resultFor(correct, late, points, correctAnswer);
+                if (correct) {
+                    result = answerValidator.applyStreak(result,
+                        scoreManager.getCurrentStreak(student.getClientId()));
+                }
             } else {
-                // Wrong or no answer
-                wsServer.sendResult(student.getConnection(), currentQuestionNumber, false, student.getScore());
+                result = answerValidator.timeoutResult(currentQuestion, 0);
             }
+            scoreManager.updateScore(student.getClientId(), result.getPointsEarned(), result.isCorrect(),
+                currentQuestion.getCategory());
+            student.addScore(result.getPointsEarned());
+            if (result.isCorrect()) {
+                correctCount++;
+            }
+            wsServer.sendResult(student.getConnection(), currentQuestionNumber, result, student.getScore());
         }
         
+        // Scoring commit done: publish the leaderboard version everyone will see
+        LeaderboardSnapshot snapshot = scoreManager.publishSnapshot();
+        
+        System.out.println(String.format("   Results committed and sent in %.1f ms",
+            (System.nanoTime() - commitStart) / 1_000_000.0));
         System.out.println("   Correct answers: " + correctCount + "/" + students.size());
         System.out.println("   Correct answer was: " + correctAnswer);
         
+        // Feed the correctness rate into the difficulty buckets
+        quizManager.recordQuestionOutcome(currentQuestion.getQuestionId(), answeredCount, correctCount);
+        
         // Show current leaderboard
-        showLeaderboard();
+        showLeaderboard(snapshot);
         
         // Send leaderboard update to admins
-        wsServer.broadcastLeaderboardToAdmins(students);
+        if (deltaBroadcasts) {
+            wsServer.broadcastLeaderboardDeltaToAdmins(snapshot);
+            wsServer.sendRankUpdates(snapshot);
+            System.out.println("   " + wsServer.getLeaderboardDeltaSummary());
+        } else {
+            wsServer.broadcastLeaderboardToAdmins(snapshot);
+        }
         
         // Wait 5 seconds before next question
         scheduler.schedule(() -> sendNextQuestion(), 5, TimeUnit.SECONDS);
@@ -167,7 +343,7 @@ public class WebSocketQuizBridge {
         
         // Create results map
         Map<String, Object> results = new HashMap<>();
-        results.put("totalQuestions", totalQuestions);
+        results.put("totalQuestions", getTotalQuestions());
         
         List<Map<String, Object>> rankings = new ArrayList<>();
         int rank = 1;
@@ -176,7 +352,7 @@ public class WebSocketQuizBridge {
             studentResult.put("rank", rank++);
             studentResult.put("name", student.getStudentName());
             studentResult.put("score", student.getScore());
-            studentResult.put("correctAnswers", student.getScore() / 10); // 10 points per question
+            studentResult.put("correctAnswers", correctAnswersOf(student));
             rankings.add(studentResult);
         }
         results.put("rankings", rankings);
@@ -194,38 +370,39 @@ public class WebSocketQuizBridge {
         for (WebSocketClient student : students) {
             String name = student.getStudentName();
             int score = student.getScore();
-            int correct = score / 10;
+            int correct = correctAnswersOf(student);
             
             System.out.printf("│  %2d │ %-20s │  %3d  │   %2d/%2d  │\n",
-                rank++, truncate(name, 20), score, correct, totalQuestions);
+                rank++, truncate(name, 20), score, correct, getTotalQuestions());
         }
         System.out.println("└─────┴──────────────────────┴───────┴──────────┘");
         
         System.out.println("\n✨ Thank you for participating!");
+        
+        retentionManager.completeSession(sessionId);
     }
     
     /**
      * Show current leaderboard
      */
-    private void showLeaderboard() {
-        List<WebSocketClient> students = wsServer.getRegisteredStudents();
-        students.sort((a, b) -> Integer.compare(b.getScore(), a.getScore()));
-        
-        System.out.println("\n📊 Current Leaderboard:");
-        System.out.println("┌─────┬──────────────────────┬───────┐");
-        System.out.println("│ Rank│ Name                 │ Score │");
-        System.out.println("├─────┼──────────────────────┼───────┤");
+    private void showLeaderboard(LeaderboardSnapshot snapshot) {
+        System.out.print(snapshot.render("ws-console:5", this::renderLeaderboard));
+    }
+    
+    private String renderLeaderboard(LeaderboardSnapshot snapshot) {
+        StringBuilder table = new StringBuilder();
+        table.append("\n📊 Current Leaderboard:\n");
+        table.append("┌─────┬──────────────────────┬───────┐\n");
+        table.append("│ Rank│ Name                 │ Score │\n");
+        table.append("├─────┼──────────────────────┼───────┤\n");
         
         int rank = 1;
-        for (int i = 0; i < Math.min(5, students.size()); i++) {
-            WebSocketClient student = students.get(i);
-            String name = student.getStudentName();
-            int score = student.getScore();
-            
-            System.out.printf("│  %2d │ %-20s │  %3d  │\n",
-                rank++, truncate(name, 20), score);
+        for (ScoreManager.ClientScore score : snapshot.getTop(5)) {
+            table.append(String.format("│  %2d │ %-20s │  %3d  │\n",
+                rank++, truncate(score.getClientName(), 20), score.getTotalScore()));
         }
-        System.out.println("└─────┴──────────────────────┴───────┘");
+        table.append("└─────┴──────────────────────┴───────┘\n");
+        return table.toString();
     }
     
     /**
@@ -254,7 +431,16 @@ public class WebSocketQuizBridge {
     }
     
     public int getTotalQuestions() {
-        return totalQuestions;
+        QuizCursor cursor = quizCursor;
+        return cursor != null ? cursor.getPlan().size() : totalQuestions;
+    }
+    
+    /**
+     * Import every question file in a directory into the bank.
+     * Imported questions survive resets; running plans are not affected.
+     */
+    public ImportReport importQuestions(String directoryPath) {
+        return quizManager.importDirectory(directoryPath);
     }
     
     /**
@@ -263,6 +449,11 @@ public class WebSocketQuizBridge {
     public synchronized void resetQuiz() {
         System.out.println("\n🔄 Resetting quiz...");
         
+        // An interrupted session counts as completed, so the next one archives it
+        if (sessionId != null) {
+            retentionManager.completeSession(sessionId);
+        }
+        
         // Reset flags
         quizStarted = false;
         quizEnded = false;
@@ -290,6 +481,8 @@ public class WebSocketQuizBridge {
      */
     public void shutdown() {
         scheduler.shutdown();
+        answerCollector.stopIngestion();
+        retentionManager.archiveAll();
         try {
             if (!scheduler.awaitTermination(5, TimeUnit.SECONDS)) {
                 scheduler.shutdownNow();
@@ -1,5 +1,11 @@
 package com.quizapp.websocket;
 
+import com.quizapp.answer.AnswerValidator;
+import com.quizapp.score.LeaderboardDelta;
+import com.quizapp.score.LeaderboardDeltaTracker;
+import com.quizapp.score.LeaderboardSnapshot;
+import com.quizapp.score.ScoreManager;
+import com.quizapp.server.MessageRateLimiter;
 import org.java_websocket.WebSocket;
 import org.java_websocket.handshake.ClientHandshake;
 import org.java_websocket.server.WebSocketServer;
@@ -14,10 +20,15 @@ import java.util.concurrent.ConcurrentHashMap;
  * Bridges WebSocket connections from React frontend to existing IntegratedQuizServer
  */
 public class WebSocketQuizServer extends WebSocketServer {
+    // Reply to submissions the answer policy rejected (prebuilt, sent as-is)
+    private static final String ANSWER_REJECTED =
+        "{\"type\":\"ANSWER_REJECTED\",\"message\":\"Answer not accepted\"}";
     
     private Map<WebSocket, WebSocketClient> clients;
     private int clientIdCounter = 1;
     private Object quizBridge; // Reference to quiz bridge
+    private final LeaderboardDeltaTracker adminDeltas = new LeaderboardDeltaTracker(Integer.MAX_VALUE);
+    private final LeaderboardDeltaTracker rankDeltas = new LeaderboardDeltaTracker(0);
     
     public WebSocketQuizServer(int port) {
         super(new InetSocketAddress(port));
@@ -61,6 +72,7 @@ public class WebSocketQuizServer extends WebSocketServer {
     public void onClose(WebSocket conn, int code, String reason, boolean remote) {
         WebSocketClient client = clients.remove(conn);
         if (client != null) {
+            adminDeltas.forget(client.getClientId());
             System.out.println("❌ WebSocket client disconnected: " + client.getClientId());
             System.out.println("   Name: " + client.getStudentName());
             System.out.println("   Reason: " + reason);
@@ -69,6 +81,12 @@ public class WebSocketQuizServer extends WebSocketServer {
     
     @Override
     public void onMessage(WebSocket conn, String message) {
+        // Throttle floods before paying for JSON parsing
+        WebSocketClient sender = clients.get(conn);
+        if (sender != null && !admit(conn, sender, MessageRateLimiter.MESSAGE)) {
+            return;
+        }
+        
         try {
             JSONObject json = new JSONObject(message);
             String type = json.getString("type");
@@ -79,6 +97,10 @@ public class WebSocketQuizServer extends WebSocketServer {
                 return;
             }
             
+            if (!admit(conn, client, MessageRateLimiter.typeOfJson(type))) {
+                return;
+            }
+            
             System.out.println("📩 Message from " + client.getClientId() + ": " + type);
             
             switch (type) {
@@ -118,6 +140,19 @@ public class WebSocketQuizServer extends WebSocketServer {
         }
     }
     
+    /**
+     * Apply the client's token bucket for a message type.
+     * Returns false if the message must be ignored.
+     */
+    private boolean admit(WebSocket conn, WebSocketClient client, int messageType) {
+        MessageRateLimiter.Decision decision = client.getRateLimiter().check(messageType);
+        if (decision == MessageRateLimiter.Decision.DISCONNECT) {
+            System.out.println("⚠ Disconnecting " + client.getClientId() + ": too many messages");
+            conn.close(1008, "Too many messages"); // 1008 = policy violation
+        }
+        return decision == MessageRateLimiter.Decision.ALLOW;
+    }
+    
     @Override
     public void onError(WebSocket conn, Exception ex) {
         System.err.println("❌ WebSocket error: " + ex.getMessage());
@@ -143,7 +178,11 @@ public class WebSocketQuizServer extends WebSocketServer {
      * Handle student registration
      */
     private void handleRegister(WebSocket conn, WebSocketClient client, JSONObject json) {
-        String name = json.getString("name");
+        String name = json.optString("name", "").trim();
+        if (name.isEmpty() || name.length() > ScoreManager.MAX_NAME_LENGTH) {
+            sendError(conn, "Name must be 1-" + ScoreManager.MAX_NAME_LENGTH + " characters");
+            return;
+        }
         client.setStudentName(name);
         client.setRegistered(true);
         
@@ -197,6 +236,7 @@ public class WebSocketQuizServer extends WebSocketServer {
         
         response.put("registeredCount", (int) studentCount);
         response.put("totalConnections", getConnectedCount());
+        response.put("throttledMessages", MessageRateLimiter.getTotalThrottled());
         
         // Add student list (exclude admins)
         List<WebSocketClient> students = getRegisteredStudents();
@@ -266,6 +306,25 @@ public class WebSocketQuizServer extends WebSocketServer {
         int questionId = json.getInt("questionId");
         String answer = json.getString("answer");
         
+        // Duplicates and changes the answer policy forbids stop here:
+        // no stored copy, no log line, no admin broadcast. A retry of the
+        // stored answer is still acknowledged, so the student knows it counted.
+        if (quizBridge instanceof WebSocketQuizBridge) {
+            WebSocketQuizBridge bridge = (WebSocketQuizBridge) quizBridge;
+            if (!bridge.recordAnswer(client.getClientId(), questionId, answer)) {
+                if (bridge.isAnswerRecorded(client.getClientId(), questionId, answer)) {
+                    conn.send(new JSONObject()
+                        .put("type", "ANSWER_RECEIVED")
+                        .put("questionId", questionId)
+                        .put("message", "Answer already recorded")
+                        .toString());
+                } else {
+                    conn.send(ANSWER_REJECTED);
+                }
+                return;
+            }
+        }
+        
         System.out.println("📝 Answer received from " + client.getStudentName() + 
                          ": Q" + questionId + " = " + answer);
         
@@ -344,15 +403,9 @@ public class WebSocketQuizServer extends WebSocketServer {
     /**
      * Send result for a specific question to a student
      */
-    public void sendResult(WebSocket conn, int questionId, boolean correct, int score) {
-        JSONObject message = new JSONObject();
-        message.put("type", "RESULT");
-        message.put("questionId", questionId);
-        message.put("correct", correct);
-        message.put("score", score);
-        message.put("message", correct ? "Correct! ✅" : "Wrong ❌");
-        
-        conn.send(message.toString());
+    public void sendResult(WebSocket conn, int questionId, AnswerValidator.ValidationResult result, int score) {
+        // Prebuilt frame from the ResultFrameCache; only the running score is appended
+        conn.send(result.formatJson(questionId, score));
     }
     
     /**
@@ -416,36 +469,152 @@ public class WebSocketQuizServer extends WebSocketServer {
     /**
      * Send live leaderboard update to all admins
      */
-    public void broadcastLeaderboardToAdmins(List<WebSocketClient> students) {
-        // Sort students by score (descending)
-        List<WebSocketClient> sortedStudents = new ArrayList<>(students);
-        sortedStudents.sort((a, b) -> Integer.compare(b.getScore(), a.getScore()));
+    public void broadcastLeaderboardToAdmins(LeaderboardSnapshot snapshot) {
+        // Built once per leaderboard version, however often it is sent
+        String frame = snapshot.render("ws-admin", this::renderAdminLeaderboard);
+        
+        // Send to all admins
+        for (Map.Entry<WebSocket, WebSocketClient> entry : clients.entrySet()) {
+            WebSocketClient client = entry.getValue();
+            if (client.isAdmin()) {
+                entry.getKey().send(frame);
+            }
+        }
+    }
+    
+    /**
+     * Send admins only the leaderboard rows that changed since the last
+     * snapshot (LEADERBOARD_PATCH); admins without a full list get one first
+     */
+    public void broadcastLeaderboardDeltaToAdmins(LeaderboardSnapshot snapshot) {
+        LeaderboardDelta delta = adminDeltas.next(snapshot);
+        String full = snapshot.render("ws-admin", this::renderAdminLeaderboard);
+        String patch = !delta.isFull() && delta.hasTopChanges() ? renderAdminPatch(delta) : null;
+        int fullBytes = LeaderboardDeltaTracker.utf8Length(full);
+        int patchBytes = patch != null ? LeaderboardDeltaTracker.utf8Length(patch) : 0;
+        if (patch != null && patchBytes >= fullBytes) {
+            patch = full; // most rows changed: the full list is smaller
+            patchBytes = fullBytes;
+        }
+        
+        long sent = 0;
+        long baseline = 0;
+        for (Map.Entry<WebSocket, WebSocketClient> entry : clients.entrySet()) {
+            WebSocketClient client = entry.getValue();
+            if (!client.isAdmin()) {
+                continue;
+            }
+            baseline += fullBytes;
+            if (adminDeltas.markSynced(client.getClientId()) || delta.isFull()) {
+                entry.getKey().send(full);
+                sent += fullBytes;
+            } else if (patch != null) {
+                entry.getKey().send(patch);
+                sent += patchBytes;
+            }
+        }
+        adminDeltas.recordBroadcast(sent, baseline);
+    }
+    
+    /**
+     * Send each student a RANK frame, only if their rank or score changed
+     * since the last snapshot
+     */
+    public void sendRankUpdates(LeaderboardSnapshot snapshot) {
+        LeaderboardDelta delta = rankDeltas.next(snapshot);
+        Map<String, WebSocket> byId = new HashMap<>();
+        for (Map.Entry<WebSocket, WebSocketClient> entry : clients.entrySet()) {
+            byId.put(entry.getValue().getClientId(), entry.getKey());
+        }
+        
+        long[] sent = new long[1];
+        delta.forEachPersonalChange((score, rank, participants) -> {
+            WebSocket conn = byId.get(score.getClientId());
+            if (conn != null) {
+                String frame = "{\"type\":\"RANK\",\"rank\":" + rank +
+                    ",\"participants\":" + participants +
+                    ",\"score\":" + score.getTotalScore() + "}";
+                conn.send(frame);
+                sent[0] += LeaderboardDeltaTracker.utf8Length(frame);
+            }
+        });
+        rankDeltas.recordBroadcast(sent[0], 0);
+    }
+    
+    /**
+     * Bytes sent and saved by leaderboard deltas to admins, and by rank pushes
+     */
+    public String getLeaderboardDeltaSummary() {
+        return "Admins " + adminDeltas.getSummary() + " | Rank pushes: " + rankDeltas.getBytesSent() + " B total";
+    }
+    
+    /**
+     * Reset delta state: the next admin leaderboard is sent in full
+     */
+    public void resetLeaderboardDeltas() {
+        adminDeltas.reset();
+        rankDeltas.reset();
+    }
+    
+    /**
+     * LEADERBOARD_PATCH frame: the changed rows of a delta
+     */
+    private String renderAdminPatch(LeaderboardDelta delta) {
+        Map<String, WebSocketClient> byId = new HashMap<>();
+        for (WebSocketClient client : clients.values()) {
+            byId.put(client.getClientId(), client);
+        }
+        
+        LeaderboardSnapshot snapshot = delta.getSnapshot();
+        org.json.JSONArray changes = new org.json.JSONArray();
+        for (int rank : delta.getChangedRanks()) {
+            ScoreManager.ClientScore score = snapshot.getScores().get(rank - 1);
+            WebSocketClient student = byId.get(score.getClientId());
+            org.json.JSONObject entry = new org.json.JSONObject();
+            entry.put("rank", rank);
+            entry.put("name", score.getClientName());
+            entry.put("score", score.getTotalScore());
+            entry.put("answersCount", student != null ? student.getAllAnswers().size() : 0);
+            changes.put(entry);
+        }
+        
+        JSONObject message = new JSONObject();
+        message.put("type", "LEADERBOARD_PATCH");
+        message.put("version", snapshot.getVersion());
+        message.put("baseVersion", delta.getBaseVersion());
+        message.put("size", snapshot.size());
+        message.put("changes", changes);
+        message.put("timestamp", snapshot.getCreatedAt());
+        return message.toString();
+    }
+    
+    /**
+     * LEADERBOARD_UPDATE frame for admins from a leaderboard snapshot
+     */
+    private String renderAdminLeaderboard(LeaderboardSnapshot snapshot) {
+        Map<String, WebSocketClient> byId = new HashMap<>();
+        for (WebSocketClient client : clients.values()) {
+            byId.put(client.getClientId(), client);
+        }
         
         // Build leaderboard array
         org.json.JSONArray leaderboard = new org.json.JSONArray();
         int rank = 1;
-        for (WebSocketClient student : sortedStudents) {
-            if (!student.isAdmin()) {
-                org.json.JSONObject entry = new org.json.JSONObject();
-                entry.put("rank", rank++);
-                entry.put("name", student.getStudentName());
-                entry.put("score", student.getScore());
-                entry.put("answersCount", student.getAllAnswers().size());
-                leaderboard.put(entry);
-            }
+        for (ScoreManager.ClientScore score : snapshot.getScores()) {
+            WebSocketClient student = byId.get(score.getClientId());
+            org.json.JSONObject entry = new org.json.JSONObject();
+            entry.put("rank", rank++);
+            entry.put("name", score.getClientName());
+            entry.put("score", score.getTotalScore());
+            entry.put("answersCount", student != null ? student.getAllAnswers().size() : 0);
+            leaderboard.put(entry);
         }
         
         JSONObject message = new JSONObject();
         message.put("type", "LEADERBOARD_UPDATE");
         message.put("leaderboard", leaderboard);
-        message.put("timestamp", System.currentTimeMillis());
-        
-        // Send to all admins
-        for (Map.Entry<WebSocket, WebSocketClient> entry : clients.entrySet()) {
-            WebSocketClient client = entry.getValue();
-            if (client.isAdmin()) {
-                entry.getKey().send(message.toString());
-            }
-        }
+        message.put("version", snapshot.getVersion());
+        message.put("timestamp", snapshot.getCreatedAt());
+        return message.toString();
     }
 }
@@ -1,5 +1,6 @@
 package com.quizapp.websocket;
 
+import com.quizapp.quiz.ImportReport;
 import java.util.List;
 import java.util.Scanner;
 
@@ -11,6 +12,7 @@ public class WebSocketServerLauncher {
     
     private static final int WEBSOCKET_PORT = 8081;
     private static final String QUESTIONS_FILE = "questions.txt";
+    private static final String IMPORT_DIR = "questions.d";
     
     public static void main(String[] args) {
         System.out.println("\n╔══════════════════════════════════════════════╗");
@@ -35,7 +37,8 @@ public class WebSocketServerLauncher {
             System.out.println("   2. Wait for all students to join");
             System.out.println("   3. Type 'start' to begin the quiz");
             System.out.println("   4. Type 'status' to see connected students");
-            System.out.println("   5. Type 'exit' to shutdown server");
+            System.out.println("   5. Type 'import <dir>' to add question files");
+            System.out.println("   6. Type 'exit' to shutdown server");
             
             // Command line interface
             Scanner scanner = new Scanner(System.in);
@@ -43,7 +46,9 @@ public class WebSocketServerLauncher {
             
             while (running) {
                 System.out.print("\n> ");
-                String command = scanner.nextLine().trim().toLowerCase();
+                String input = scanner.nextLine().trim();
+                String[] words = input.split("\\s+", 2);
+                String command = words[0].toLowerCase();
                 
                 switch (command) {
                     case "start":
@@ -54,6 +59,10 @@ public class WebSocketServerLauncher {
                         handleStatusCommand(wsServer, quizBridge);
                         break;
                         
+                    case "import":
+                        handleImportCommand(quizBridge, words.length > 1 ? words[1] : IMPORT_DIR);
+                        break;
+                        
                     case "help":
                         showHelp();
                         break;
@@ -112,6 +121,14 @@ public class WebSocketServerLauncher {
         }
     }
     
+    /**
+     * Handle import command
+     */
+    private static void handleImportCommand(WebSocketQuizBridge quizBridge, String directory) {
+        ImportReport report = quizBridge.importQuestions(directory);
+        System.out.println("📚 Imported " + report.getAcceptedQuestions().size() + " questions from " + directory);
+    }
+    
     /**
      * Handle status command
      */
@@ -152,6 +169,7 @@ public class WebSocketServerLauncher {
         System.out.println("════════════════════════════════════════");
         System.out.println("  start   - Start the quiz for all connected students");
         System.out.println("  status  - Show server status and connected students");
+        System.out.println("  import [dir] - Import question files (default " + IMPORT_DIR + ")");
         System.out.println("  help    - Show this help menu");
         System.out.println("  exit    - Shutdown the server");
         System.out.println("════════════════════════════════════════");